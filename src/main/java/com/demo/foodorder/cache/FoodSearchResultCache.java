@@ -0,0 +1,215 @@
+package com.demo.foodorder.cache;
+
+import com.demo.foodorder.dto.request.FoodSearchRequest;
+import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
+import com.demo.foodorder.dto.response.SearchCacheStatsResponse;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.enums.SearchTotals;
+import com.demo.foodorder.event.MenuItemIndexChangedEvent;
+import com.demo.foodorder.index.MenuItemDocument;
+import com.demo.foodorder.index.MenuItemQuery;
+import com.demo.foodorder.index.MenuItemSearchIndex;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantGeoIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of food search pages, keyed on the normalized search filters
+ * plus paging options. openNow searches are also keyed on the current minute and
+ * the opening hours version, so their results expire as restaurants open and close
+ * or change their timings. Popularity sorted searches are keyed on the popularity
+ * version, so they are re-ranked once order counts are refreshed. Location-aware
+ * searches are keyed on the point, radius and restaurant location version.
+ * <p>
+ * Entries are invalidated selectively: when the search index applies a change,
+ * only entries whose filters match the previous or the new version of a changed
+ * item are dropped. Entries with facets are matched without their category and
+ * cuisine filters, since facet counts cover the other categories and cuisines too.
+ * Relevance-ranked entries with a query are always dropped, since
+ * their query matches words of the name and description rather than a name
+ * substring, and any change shifts the BM25 term weights of every result.
+ */
+@Component
+public class FoodSearchResultCache {
+
+    private final OpeningHoursIndex openingHoursIndex;
+    private final MenuItemSearchIndex menuItemSearchIndex;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final Map<Key, PagedFoodSearchResponse> entries;
+    private final int maxEntries;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Bumped on every invalidation, so a page computed before a change is not stored after it
+    private long generation;
+
+    public FoodSearchResultCache(
+            OpeningHoursIndex openingHoursIndex,
+            MenuItemSearchIndex menuItemSearchIndex,
+            RestaurantGeoIndex restaurantGeoIndex,
+            @Value("${app.search.result-cache.max-entries}") int maxEntries) {
+        this.openingHoursIndex = openingHoursIndex;
+        this.menuItemSearchIndex = menuItemSearchIndex;
+        this.restaurantGeoIndex = restaurantGeoIndex;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PagedFoodSearchResponse> eldest) {
+                if (size() > FoodSearchResultCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached page for these search options, computing and caching it
+     * with {@code loader} on a miss.
+     */
+    public PagedFoodSearchResponse get(
+            FoodSearchRequest request,
+            SearchTotals totals,
+            boolean includeFacets,
+            int pageNumber,
+            int pageSize,
+            Supplier<PagedFoodSearchResponse> loader) {
+
+        boolean openNow = Boolean.TRUE.equals(request.getOpenNow());
+        boolean located = request.getLatitude() != null;
+        Key key = new Key(
+                filters(request),
+                request.getSort(),
+                request.getSort() == FoodSearchSort.POPULARITY ? menuItemSearchIndex.popularityVersion() : null,
+                openNow ? clock.millis() / 60_000 : null,
+                openNow ? openingHoursIndex.version() : null,
+                located ? new Location(request.getLatitude(), request.getLongitude(), request.getRadiusKm(),
+                        restaurantGeoIndex.version()) : null,
+                totals, includeFacets, pageNumber, pageSize
+        );
+
+        long loadGeneration;
+        synchronized (entries) {
+            PagedFoodSearchResponse cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        PagedFoodSearchResponse response = loader.get();
+        // An approximate total still being estimated is left uncached, so a later request picks it up
+        if (totals == SearchTotals.APPROXIMATE && response.getTotalElements() == null) {
+            return response;
+        }
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                entries.put(key, response);
+            }
+        }
+        return response;
+    }
+
+    @EventListener
+    public void onIndexChanged(MenuItemIndexChangedEvent event) {
+        synchronized (entries) {
+            generation++;
+            int before = entries.size();
+            if (event.rebuilt()) {
+                entries.clear();
+            } else {
+                entries.keySet().removeIf(key -> key.ranked()
+                        || event.affected().stream().anyMatch(key.scope()::matches));
+            }
+            invalidations.addAndGet(before - entries.size());
+        }
+    }
+
+    public SearchCacheStatsResponse stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return SearchCacheStatsResponse.builder()
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                .size(size)
+                .maxEntries(maxEntries)
+                .evictions(evictions.get())
+                .invalidations(invalidations.get())
+                .build();
+    }
+
+    /**
+     * Filters normalized so equivalent requests share an entry: the query is
+     * stripped and lower-cased with a blank query treated as absent, and prices ignore
+     * trailing zeros.
+     * The open restaurant set is left out; the minute bucket stands in for it.
+     */
+    private static MenuItemQuery filters(FoodSearchRequest request) {
+        String q = request.getQuery() == null || request.getQuery().isBlank()
+                ? null
+                : request.getQuery().strip().toLowerCase(Locale.ROOT);
+        return new MenuItemQuery(
+                q,
+                request.getFoodCategory(),
+                request.getCuisineType(),
+                request.getVegetarian(),
+                request.getVegan(),
+                request.getGlutenFree(),
+                normalize(request.getMinPrice()),
+                normalize(request.getMaxPrice()),
+                null
+        );
+    }
+
+    private static BigDecimal normalize(BigDecimal price) {
+        return price == null ? null : price.stripTrailingZeros();
+    }
+
+    private record Key(
+            MenuItemQuery filters,
+            FoodSearchSort sort,
+            Long popularityVersion,
+            Long openMinute,
+            Long openingHoursVersion,
+            Location location,
+            SearchTotals totals,
+            boolean includeFacets,
+            int pageNumber,
+            int pageSize) {
+
+        /** Whether the results are BM25 ranked, which is the case for RELEVANCE with a query. */
+        boolean ranked() {
+            return sort == FoodSearchSort.RELEVANCE && filters.q() != null;
+        }
+
+        /** The filters a changed item must match to affect this entry. */
+        MenuItemQuery scope() {
+            return includeFacets ? filters.withoutFacetFilters() : filters;
+        }
+    }
+
+    private record Location(double latitude, double longitude, double radiusKm, long geoVersion) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.demo.foodorder.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded LRU cache of the public per-restaurant views (details, menu and weekly
+ * timings), held as serialized JSON plus a gzip copy so a hit skips the database,
+ * the mappers and Jackson altogether.
+ * <p>
+ * Entries are keyed on the restaurant's {@link RestaurantVersions version}, read
+ * before loading, so an admin or owner change makes the next request load afresh
+ * and a view loaded before a change is never served under the newer version.
+ * Details include whether the restaurant is open now, so they are also keyed on
+ * the current minute. Timing changes bump the restaurant's own version, so other
+ * restaurants' timing changes leave its entries alone.
+ */
+@Component
+public class RestaurantResponseCache {
+
+    private final RestaurantVersions restaurantVersions;
+    private final ObjectMapper objectMapper;
+    private final Map<Key, SerializedResponse> entries;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    public RestaurantResponseCache(
+            RestaurantVersions restaurantVersions,
+            ObjectMapper objectMapper,
+            @Value("${app.restaurants.response-cache.max-entries}") int maxEntries) {
+        this.restaurantVersions = restaurantVersions;
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SerializedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public SerializedResponse details(Long restaurantId, Supplier<?> loader) {
+        return get(key(restaurantId, View.DETAILS, clock.millis() / 60_000), loader);
+    }
+
+    public SerializedResponse menu(Long restaurantId, Supplier<?> loader) {
+        return get(key(restaurantId, View.MENU, null), loader);
+    }
+
+    public SerializedResponse timings(Long restaurantId, Supplier<?> loader) {
+        return get(key(restaurantId, View.TIMINGS, null), loader);
+    }
+
+    /**
+     * Returns the cached view, loading and serializing it with {@code loader} on a
+     * miss. Exceptions from the loader, such as an unknown restaurant, are not cached.
+     */
+    private SerializedResponse get(Key key, Supplier<?> loader) {
+        synchronized (entries) {
+            SerializedResponse cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        SerializedResponse response = serialize(loader.get());
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+        return response;
+    }
+
+    private Key key(Long restaurantId, View view, Long minute) {
+        return new Key(restaurantId, view, restaurantVersions.version(restaurantId), minute);
+    }
+
+    private SerializedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedResponse(json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize restaurant response", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private enum View {
+        DETAILS, MENU, TIMINGS
+    }
+
+    private record Key(Long restaurantId, View view, long version, Long minute) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.foodorder.cache;
+
+import com.demo.foodorder.event.MenuItemChangedEvent;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of every restaurant's public views (details, menu items and
+ * timings), bumped after each admin or owner change commits. Versions only
+ * increase; a restaurant that never changed since startup is at version 0.
+ * <p>
+ * Counters restart with the application, so tags built from them carry the
+ * startup time to stay unique across restarts.
+ */
+@Component
+public class RestaurantVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    public long version(Long restaurantId) {
+        return versions.getOrDefault(restaurantId, 0L);
+    }
+
+    /**
+     * Version of the restaurant as an opaque tag, unique across restarts.
+     */
+    public String tag(Long restaurantId) {
+        return epoch + "." + version(restaurantId);
+    }
+
+    @TransactionalEventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        bump(event.restaurantId());
+    }
+
+    @TransactionalEventListener
+    public void onTimingsChanged(RestaurantTimingsChangedEvent event) {
+        bump(event.restaurantId());
+    }
+
+    @TransactionalEventListener
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        bump(event.restaurantId());
+    }
+
+    private void bump(Long restaurantId) {
+        // One global sequence keeps every restaurant's versions strictly increasing
+        versions.put(restaurantId, sequence.incrementAndGet());
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.foodorder.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of approximate search result counts. Counts are computed on a
+ * background thread; callers get the last known value immediately and a
+ * stale value triggers a refresh instead of blocking the request.
+ */
+@Component
+public class SearchCountEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchCountEstimator.class);
+    private final TaskExecutor taskExecutor;
+    private final Map<Object, Estimate> estimates;
+
+    @Value("${app.search.count-estimate.ttl-ms}")
+    private long ttlMs;
+
+    public SearchCountEstimator(
+            TaskExecutor taskExecutor,
+            @Value("${app.search.count-estimate.max-entries}") int maxEntries) {
+        this.taskExecutor = taskExecutor;
+        this.estimates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Estimate> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached count for {@code key}, or null when no estimate exists yet.
+     * Missing or expired estimates are recomputed asynchronously with {@code counter}.
+     */
+    public Long estimate(Object key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Estimate current;
+        boolean refresh;
+
+        synchronized (estimates) {
+            current = estimates.get(key);
+            refresh = (current == null || now - current.computedAt() > ttlMs)
+                    && (current == null || !current.refreshing());
+            if (refresh) {
+                estimates.put(key, current == null
+                        ? new Estimate(null, 0L, true)
+                        : new Estimate(current.count(), current.computedAt(), true));
+            }
+        }
+
+        if (refresh) {
+            taskExecutor.execute(() -> refresh(key, counter));
+        }
+        return current == null ? null : current.count();
+    }
+
+    private void refresh(Object key, LongSupplier counter) {
+        Estimate updated;
+        try {
+            updated = new Estimate(counter.getAsLong(), System.currentTimeMillis(), false);
+        } catch (RuntimeException e) {
+            logger.error("Error refreshing search count estimate", e);
+            synchronized (estimates) {
+                estimates.remove(key);
+            }
+            return;
+        }
+        synchronized (estimates) {
+            estimates.put(key, updated);
+        }
+    }
+
+    private record Estimate(Long count, long computedAt, boolean refreshing) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.demo.foodorder.cache;
+
+/**
+ * A response body serialized to JSON once, with a gzip-compressed copy for clients
+ * that accept it.
+ */
+public record SerializedResponse(byte[] json, byte[] gzip) {
+}
@@ -0,0 +1,22 @@
+package com.demo.foodorder.config;
+
+import com.demo.foodorder.util.SparseFieldsets;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * DTOs supporting {@code fields=} name a Jackson filter, which every serialization
+     * must be able to resolve. Unless a request narrows it, it writes all properties.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFieldsets.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
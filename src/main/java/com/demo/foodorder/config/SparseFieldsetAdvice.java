@@ -0,0 +1,42 @@
+package com.demo.foodorder.config;
+
+import com.demo.foodorder.util.SparseFieldsets;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies {@code fields=} to JSON responses: DTOs carrying the sparse fieldset
+ * filter only write the requested properties. Without the parameter, the default
+ * filter configured in {@link JacksonConfig} writes everything.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) return;
+
+        Set<String> fields = SparseFieldsets.parse(
+                servletRequest.getServletRequest().getParameter(SparseFieldsets.PARAMETER));
+        if (fields == null) return;
+
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(SparseFieldsets.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+    }
+}
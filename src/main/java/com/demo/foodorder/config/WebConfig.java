@@ -0,0 +1,19 @@
+package com.demo.foodorder.config;
+
+import com.demo.foodorder.enums.FoodSearchSort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Sort options are documented in lower case (sort=relevance)
+        registry.addConverter(String.class, FoodSearchSort.class,
+                source -> FoodSearchSort.valueOf(source.trim().toUpperCase(Locale.ROOT)));
+    }
+}
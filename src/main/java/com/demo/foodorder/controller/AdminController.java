@@ -3,6 +3,7 @@ package com.demo.foodorder.controller;
 import com.demo.foodorder.dto.request.CreateRestaurantRequest;
 import com.demo.foodorder.dto.request.UpdateRestaurantRequest;
 import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.SearchCacheStatsResponse;
 import com.demo.foodorder.service.AdminService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -56,4 +57,13 @@ public class AdminController {
         adminService.deleteRestaurant(restaurantId);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Food search cache statistics",
+            description = "Hit, miss, eviction and invalidation counts of the food search result cache")
+    @GetMapping("/search-cache/stats")
+    public ResponseEntity<SearchCacheStatsResponse> getSearchCacheStats() {
+        return ResponseEntity.ok(
+                adminService.getSearchCacheStats()
+        );
+    }
 }
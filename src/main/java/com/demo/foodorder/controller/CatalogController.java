@@ -0,0 +1,40 @@
+package com.demo.foodorder.controller;
+
+import com.demo.foodorder.dto.response.CatalogChangesResponse;
+import com.demo.foodorder.service.CatalogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@Tag(name = "8. Catalog Sync", description = "Incremental sync of restaurants, menus and timings")
+public class CatalogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogController.class);
+    private final CatalogService catalogService;
+
+    @Operation(summary = "Catalog changes since a version",
+            description = "Restaurants, menu items and timings changed after the given version, in their current "
+                    + "state. Pass the returned version as since on the next call; while hasMore is true, call again "
+                    + "right away. resyncRequired means the change log no longer reaches back that far: reload the "
+                    + "catalog, then continue from the returned version.")
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChangesResponse> changes(
+            @Parameter(description = "Version returned by the previous call, 0 for the start of the log", example = "0")
+            @RequestParam long since) {
+        logger.info("Catalog changes since {}", since);
+        return ResponseEntity.ok(
+                catalogService.changesSince(since)
+        );
+    }
+}
@@ -1,22 +1,33 @@
 package com.demo.foodorder.controller;
 
+import com.demo.foodorder.dto.request.FoodSearchRequest;
 import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
+import com.demo.foodorder.dto.response.SuggestionResponse;
 import com.demo.foodorder.enums.CuisineType;
 import com.demo.foodorder.enums.FoodCategory;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.enums.PaginationMode;
+import com.demo.foodorder.enums.SearchTotals;
 import com.demo.foodorder.service.FoodSearchService;
+import com.demo.foodorder.service.TypeaheadService;
+import com.demo.foodorder.util.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/search")
@@ -25,9 +36,15 @@ import java.math.BigDecimal;
 public class FoodSearchController {
 
     private static final Logger logger = LoggerFactory.getLogger(FoodSearchController.class);
+    private static final String NDJSON = "application/x-ndjson";
     private final FoodSearchService foodSearchService;
+    private final TypeaheadService typeaheadService;
 
-    @Operation(summary = "Search food items with filters (category, cuisine, dietary, price, openNow) and pagination")
+    @Operation(summary = "Search food items with filters (category, cuisine, dietary, price, openNow, location) and pagination",
+            description = "OFFSET pagination returns page numbers and totals. CURSOR pagination orders by price "
+                    + "(any other sort is rejected), returns a nextCursor and skips the total count; pass nextCursor back to fetch the following page.")
+    @Parameter(name = SparseFieldsets.PARAMETER, in = ParameterIn.QUERY,
+            description = "Comma-separated properties to return for each item, e.g. menuItemId,menuItemName,price")
     @GetMapping("/foods")
     public ResponseEntity<PagedFoodSearchResponse> searchFoods(
             @Parameter(description = "Search by name") @RequestParam(required = false) String q,
@@ -39,18 +56,103 @@ public class FoodSearchController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Boolean openNow,
+            @Parameter(description = "Latitude of the user; with lng, limits results to nearby restaurants")
+            @RequestParam(required = false) Double lat,
+            @Parameter(description = "Longitude of the user")
+            @RequestParam(required = false) Double lng,
+            @Parameter(description = "Search radius around lat/lng in km (default 5)")
+            @RequestParam(required = false) Double radiusKm,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 100)", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Pagination mode")
+            @RequestParam(defaultValue = "OFFSET") PaginationMode pagination,
+            @Parameter(description = "Cursor returned as nextCursor by the previous CURSOR page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "EXACT runs a count query, APPROXIMATE returns a cached estimate, NONE only reports hasNext. "
+                    + "Default is NONE for sort=relevance with q and EXACT otherwise")
+            @RequestParam(required = false) SearchTotals totals,
+            @Parameter(description = "Include match counts per category, cuisine and dietary flag (OFFSET mode)")
+            @RequestParam(defaultValue = "false") boolean includeFacets,
+            @Parameter(description = "price_asc, price_desc, popularity (order count), newest or distance (requires lat/lng); relevance ranks by BM25 over name and description (requires q). Default is unordered (OFFSET mode)")
+            @RequestParam(required = false) FoodSearchSort sort) {
         logger.info("Searching foods with query: {}, page: {}, size: {}", q, page, size);
+
+        FoodSearchRequest request = searchRequest(
+                q, category, cuisine, vegetarian, vegan, glutenFree, minPrice, maxPrice, openNow, lat, lng, radiusKm);
+        request.setSort(sort);
+
+        if (pagination == PaginationMode.CURSOR || cursor != null) {
+            return ResponseEntity.ok(
+                    foodSearchService.searchFoodsByCursor(request, cursor, size)
+            );
+        }
+        return ResponseEntity.ok(
+                foodSearchService.searchFoods(request, totals, includeFacets, page, size)
+        );
+    }
+
+    @Operation(summary = "Export every matching food item as newline-delimited JSON",
+            description = "Takes the same filters as /foods without paging and streams one item per line, "
+                    + "ordered by menu item id. Intended for bulk consumers such as partner integrations.")
+    @GetMapping(value = "/foods/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportFoods(
+            @Parameter(description = "Search by name") @RequestParam(required = false) String q,
+            @RequestParam(required = false) FoodCategory category,
+            @RequestParam(required = false) CuisineType cuisine,
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Boolean vegan,
+            @RequestParam(required = false) Boolean glutenFree,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean openNow,
+            @Parameter(description = "Latitude of the user; with lng, limits results to nearby restaurants")
+            @RequestParam(required = false) Double lat,
+            @Parameter(description = "Longitude of the user")
+            @RequestParam(required = false) Double lng,
+            @Parameter(description = "Search radius around lat/lng in km (default 5)")
+            @RequestParam(required = false) Double radiusKm) {
+        logger.info("Exporting foods with query: {}", q);
+
+        FoodSearchRequest request = searchRequest(
+                q, category, cuisine, vegetarian, vegan, glutenFree, minPrice, maxPrice, openNow, lat, lng, radiusKm);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(foodSearchService.exportFoods(request));
+    }
+
+    @Operation(summary = "Typeahead completions for menu item and restaurant names",
+            description = "Matches the start of any word in the name, most ordered first. Served from memory.")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @Parameter(description = "Text typed so far") @RequestParam String prefix,
+            @Parameter(description = "Maximum completions (max 10)", example = "5")
+            @RequestParam(defaultValue = "5") int limit) {
         return ResponseEntity.ok(
-                foodSearchService.searchFoods(
-                        q, category, cuisine,
-                        vegetarian, vegan, glutenFree,
-                        minPrice, maxPrice, openNow,
-                        page, size
-                )
+                typeaheadService.suggest(prefix, limit)
         );
     }
+
+    private static FoodSearchRequest searchRequest(
+            String q, FoodCategory category, CuisineType cuisine,
+            Boolean vegetarian, Boolean vegan, Boolean glutenFree,
+            BigDecimal minPrice, BigDecimal maxPrice, Boolean openNow,
+            Double lat, Double lng, Double radiusKm) {
+        FoodSearchRequest request = new FoodSearchRequest();
+        // Surrounding blanks are not part of the search, and a blank q means no name filter
+        request.setQuery(q == null || q.isBlank() ? null : q.strip());
+        request.setFoodCategory(category);
+        request.setCuisineType(cuisine);
+        request.setVegetarian(vegetarian);
+        request.setVegan(vegan);
+        request.setGlutenFree(glutenFree);
+        request.setMinPrice(minPrice);
+        request.setMaxPrice(maxPrice);
+        request.setOpenNow(openNow);
+        request.setLatitude(lat);
+        request.setLongitude(lng);
+        request.setRadiusKm(radiusKm);
+        return request;
+    }
 }
@@ -0,0 +1,41 @@
+package com.demo.foodorder.controller;
+
+import com.demo.foodorder.dto.response.MenuItemBatchResponse;
+import com.demo.foodorder.service.RestaurantService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/menu-items")
+@RequiredArgsConstructor
+@Tag(name = "4. Restaurants", description = "Browse and view Restaurants details")
+public class MenuItemController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuItemController.class);
+    private final RestaurantService restaurantService;
+
+    @Operation(summary = "Get menu items by id",
+            description = "Look up to 100 menu items across restaurants in one call, in the order requested. Ids "
+                    + "that do not exist, are unavailable or belong to inactive restaurants are listed in "
+                    + "missingIds and inactiveIds.")
+    @GetMapping(params = "ids")
+    public ResponseEntity<MenuItemBatchResponse> getByIds(
+            @Parameter(description = "Comma-separated menu item ids", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        logger.info("Looking up {} menu items by id", ids.size());
+        return ResponseEntity.ok(
+                restaurantService.getMenuItemsByIds(ids)
+        );
+    }
+}
\ No newline at end of file
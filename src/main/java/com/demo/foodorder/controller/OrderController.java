@@ -4,7 +4,9 @@ import com.demo.foodorder.dto.request.PlaceOrderRequest;
 import com.demo.foodorder.dto.response.OrderResponse;
 import com.demo.foodorder.security.UserPrincipal;
 import com.demo.foodorder.service.OrderService;
+import com.demo.foodorder.util.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -43,10 +45,12 @@ public class OrderController {
             description = "View all past orders placed by me")
     @GetMapping
     public ResponseEntity<List<OrderResponse>> myOrders(
+            @Parameter(description = "Comma-separated properties to return for each order, e.g. id,status,totalAmount. Leaving out items, restaurantName or consumerUsername also skips loading them")
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal UserPrincipal principal) {
 
         return ResponseEntity.ok(
-                orderService.getConsumerOrders(principal.getUser())
+                orderService.getConsumerOrders(principal.getUser(), SparseFieldsets.parse(fields))
         );
     }
 
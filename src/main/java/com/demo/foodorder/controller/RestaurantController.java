@@ -1,88 +1,235 @@
-package com.demo.foodorder.controller;
-
-import com.demo.foodorder.dto.response.MenuItemResponse;
-import com.demo.foodorder.dto.response.RestaurantResponse;
-import com.demo.foodorder.dto.response.TimingResponse;
-import com.demo.foodorder.security.UserPrincipal;
-import com.demo.foodorder.service.RestaurantService;
-import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.tags.Tag;
-import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/restaurants")
-@RequiredArgsConstructor
-@Tag(name = "4. Restaurants", description = "Browse and view Restaurants details")
-public class RestaurantController {
-
-    private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
-    private final RestaurantService restaurantService;
-
-    @Operation(summary = "Browse all restaurants",
-            description = "Get all active restaurants. Optionally filter by openNow (restaurants available at current timing).")
-    @GetMapping
-    public ResponseEntity<List<RestaurantResponse>> browseAll(
-            @RequestParam(required = false) Boolean openNow) {
-        logger.info("Browsing restaurants");
-        return ResponseEntity.ok(
-                restaurantService.browseAllRestaurants(
-                        Boolean.TRUE.equals(openNow)
-                )
-        );
-    }
-
-    @Operation(summary = "Browse nearby restaurants",
-            description = "Find restaurants within a specified radius. Filter by nearby and timing - openNow flag")
-    @GetMapping("/nearby")
-    public ResponseEntity<List<RestaurantResponse>> browse(
-            @Parameter(description = "Latitude") @RequestParam double lat,
-            @Parameter(description = "Longitude") @RequestParam double lng,
-            @RequestParam(defaultValue = "5") double radiusKm,
-            @RequestParam(required = false) Boolean openNow) {
-        logger.info("Browsing nearby restaurants: lat={}, lng={}, radius={}km", lat, lng, radiusKm);
-        return ResponseEntity.ok(
-                restaurantService.browseRestaurants(
-                        lat, lng, radiusKm, Boolean.TRUE.equals(openNow)
-                )
-        );
-    }
-
-    @Operation(summary = "Get restaurant details",
-            description = "View details of specific restaurant")
-    @GetMapping("/{restaurantId}")
-    public ResponseEntity<RestaurantResponse> getRestaurantById(@PathVariable Long restaurantId) {
-        logger.info("Viewing details of a specific restaurant");
-        return ResponseEntity.ok(
-                restaurantService.getRestaurantById(restaurantId)
-        );
-    }
-
-    @Operation(summary = "List all menu items",
-            description = "View menu items for the restaurant")
-    @GetMapping("/{restaurantId}/menu-items")
-    public ResponseEntity<List<MenuItemResponse>> listMenu(@PathVariable Long restaurantId) {
-        logger.info("Viewing menu of a specific restaurant");
-        List<MenuItemResponse> items = restaurantService.listMenu(restaurantId);
-        return ResponseEntity.ok(items);
-    }
-
-    @Operation(summary = "View restaurant timings",
-            description = "Get ALL days of the week timings when restaurant is open")
-    @GetMapping("/{restaurantId}/timings")
-    public ResponseEntity<List<TimingResponse>> getTimings(
-            @PathVariable Long restaurantId,
-            @AuthenticationPrincipal UserPrincipal principal) {
-        logger.info("Viewing week timings of a specific restaurant");
-        return ResponseEntity.ok(
-                restaurantService.getRestaurantTimings(restaurantId)
-        );
-    }
-}
+package com.demo.foodorder.controller;
+
+import com.demo.foodorder.cache.SerializedResponse;
+import com.demo.foodorder.dto.response.MenuItemResponse;
+import com.demo.foodorder.dto.response.PagedRestaurantResponse;
+import com.demo.foodorder.dto.response.RestaurantBatchResponse;
+import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.TimingResponse;
+import com.demo.foodorder.security.UserPrincipal;
+import com.demo.foodorder.service.RestaurantService;
+import com.demo.foodorder.util.SparseFieldsets;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/restaurants")
+@RequiredArgsConstructor
+@Tag(name = "4. Restaurants", description = "Browse and view Restaurants details")
+public class RestaurantController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String NOT_MODIFIED = "Sends an ETag; a matching If-None-Match gets 304 Not Modified.";
+    private final RestaurantService restaurantService;
+
+    @Operation(summary = "Browse all restaurants",
+            description = "Get all active restaurants in id order. Optionally filter by openNow (restaurants "
+                    + "available at current timing). Pass cursor or size to page through them instead.")
+    @Parameter(name = SparseFieldsets.PARAMETER, in = ParameterIn.QUERY,
+            description = "Comma-separated properties to return for each restaurant, e.g. id,name,openNow")
+    @GetMapping(params = {"!cursor", "!size", "!ids"})
+    public ResponseEntity<List<RestaurantResponse>> browseAll(
+            @RequestParam(required = false) Boolean openNow) {
+        logger.info("Browsing restaurants");
+        return ResponseEntity.ok(
+                restaurantService.browseAllRestaurants(
+                        Boolean.TRUE.equals(openNow)
+                )
+        );
+    }
+
+    @Operation(summary = "Browse restaurants a page at a time",
+            description = "Get active restaurants a page at a time in id order; pass nextCursor back to fetch "
+                    + "the following page. Optionally filter by openNow (restaurants available at current timing).")
+    @Parameter(name = SparseFieldsets.PARAMETER, in = ParameterIn.QUERY,
+            description = "Comma-separated properties to return for each restaurant, e.g. id,name,openNow")
+    @GetMapping
+    public ResponseEntity<PagedRestaurantResponse> browsePage(
+            @RequestParam(required = false) Boolean openNow,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Browsing restaurants, size: {}", size);
+        return ResponseEntity.ok(
+                restaurantService.browseAllRestaurants(
+                        Boolean.TRUE.equals(openNow), cursor, size
+                )
+        );
+    }
+
+    @Operation(summary = "Get restaurants by id",
+            description = "Look up to 100 restaurants in one call, in the order requested. Ids that do not exist "
+                    + "or belong to inactive restaurants are listed in missingIds and inactiveIds. Optionally "
+                    + "include each restaurant's weekly timings.")
+    @GetMapping(params = "ids")
+    public ResponseEntity<RestaurantBatchResponse> getByIds(
+            @Parameter(description = "Comma-separated restaurant ids", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "false") boolean includeTimings) {
+        logger.info("Looking up {} restaurants by id", ids.size());
+        return ResponseEntity.ok(
+                restaurantService.getRestaurantsByIds(ids, includeTimings)
+        );
+    }
+
+    @Operation(summary = "Export all restaurants as newline-delimited JSON",
+            description = "Streams every active restaurant, one per line in id order. Optionally only those open now.")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportAll(
+            @RequestParam(required = false) Boolean openNow) {
+        logger.info("Exporting restaurants");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(restaurantService.exportRestaurants(Boolean.TRUE.equals(openNow)));
+    }
+
+    @Operation(summary = "Browse nearby restaurants",
+            description = "Find restaurants within a specified radius, nearest first. Filter by nearby and timing - openNow flag")
+    @GetMapping("/nearby")
+    public ResponseEntity<List<RestaurantResponse>> browse(
+            @Parameter(description = "Latitude") @RequestParam double lat,
+            @Parameter(description = "Longitude") @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) Boolean openNow) {
+        logger.info("Browsing nearby restaurants: lat={}, lng={}, radius={}km", lat, lng, radiusKm);
+        return ResponseEntity.ok(
+                restaurantService.browseRestaurants(
+                        lat, lng, radiusKm, Boolean.TRUE.equals(openNow)
+                )
+        );
+    }
+
+    @Operation(summary = "Find the nearest restaurants",
+            description = "The k active restaurants closest to a location, nearest first, with their distance. "
+                    + "Optionally only those open now.")
+    @GetMapping("/nearest")
+    public ResponseEntity<List<RestaurantResponse>> nearest(
+            @Parameter(description = "Latitude") @RequestParam double lat,
+            @Parameter(description = "Longitude") @RequestParam double lng,
+            @Parameter(description = "Number of restaurants (max 50)", example = "10")
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) Boolean openNow) {
+        logger.info("Finding nearest restaurants: lat={}, lng={}, k={}", lat, lng, k);
+        return ResponseEntity.ok(
+                restaurantService.nearestRestaurants(
+                        lat, lng, k, Boolean.TRUE.equals(openNow)
+                )
+        );
+    }
+
+    @Operation(summary = "Get restaurant details",
+            description = "View details of specific restaurant. " + NOT_MODIFIED)
+    @ApiResponse(responseCode = "200",
+            content = @Content(schema = @Schema(implementation = RestaurantResponse.class)))
+    @GetMapping("/{restaurantId}")
+    public ResponseEntity<byte[]> getRestaurantById(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        logger.info("Viewing details of a specific restaurant");
+        String etag = etag(restaurantService.getRestaurantVersionTag(restaurantId), acceptEncoding);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return serialized(
+                restaurantService.getSerializedRestaurant(restaurantId), etag, acceptEncoding
+        );
+    }
+
+    @Operation(summary = "List all menu items",
+            description = "View menu items for the restaurant. " + NOT_MODIFIED)
+    @ApiResponse(responseCode = "200",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MenuItemResponse.class))))
+    @GetMapping("/{restaurantId}/menu-items")
+    public ResponseEntity<byte[]> listMenu(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        logger.info("Viewing menu of a specific restaurant");
+        String etag = etag(restaurantService.getMenuVersionTag(restaurantId), acceptEncoding);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return serialized(
+                restaurantService.getSerializedMenu(restaurantId), etag, acceptEncoding
+        );
+    }
+
+    @Operation(summary = "View restaurant timings",
+            description = "Get ALL days of the week timings when restaurant is open. " + NOT_MODIFIED)
+    @ApiResponse(responseCode = "200",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = TimingResponse.class))))
+    @GetMapping("/{restaurantId}/timings")
+    public ResponseEntity<byte[]> getTimings(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        logger.info("Viewing week timings of a specific restaurant");
+        String etag = etag(restaurantService.getTimingsVersionTag(restaurantId), acceptEncoding);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return serialized(
+                restaurantService.getSerializedTimings(restaurantId), etag, acceptEncoding
+        );
+    }
+
+    /**
+     * Strong ETag for one representation: the gzip and identity bodies differ
+     * byte for byte, so they get different tags.
+     */
+    private static String etag(String versionTag, String acceptEncoding) {
+        return "\"" + versionTag + (acceptsGzip(acceptEncoding) ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * Writes a cached, already serialized body as is, gzip-compressed when the
+     * client accepts it.
+     */
+    private static ResponseEntity<byte[]> serialized(SerializedResponse body, String etag, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                // "gzip;q=0" explicitly refuses it
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("(?i)q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
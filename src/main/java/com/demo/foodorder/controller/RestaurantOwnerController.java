@@ -10,7 +10,9 @@ import com.demo.foodorder.dto.response.TimingResponse;
 import com.demo.foodorder.enums.OrderStatus;
 import com.demo.foodorder.security.UserPrincipal;
 import com.demo.foodorder.service.RestaurantOwnerService;
+import com.demo.foodorder.util.SparseFieldsets;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -104,10 +106,13 @@ public class RestaurantOwnerController {
     public ResponseEntity<List<OrderResponse>> getOrders(
             @PathVariable Long restaurantId,
             @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Comma-separated properties to return for each order, e.g. id,status,totalAmount. Leaving out items, restaurantName or consumerUsername also skips loading them")
+            @RequestParam(required = false) String fields,
             @AuthenticationPrincipal UserPrincipal principal) {
 
         return ResponseEntity.ok(
-                ownerService.getRestaurantOrders(restaurantId, status, principal.getId())
+                ownerService.getRestaurantOrders(
+                        restaurantId, status, principal.getId(), SparseFieldsets.parse(fields))
         );
     }
 
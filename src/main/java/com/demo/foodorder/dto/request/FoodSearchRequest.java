@@ -2,6 +2,7 @@ package com.demo.foodorder.dto.request;
 
 import com.demo.foodorder.enums.CuisineType;
 import com.demo.foodorder.enums.FoodCategory;
+import com.demo.foodorder.enums.FoodSearchSort;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,4 +21,8 @@ public class FoodSearchRequest {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private Boolean openNow;
+    private FoodSearchSort sort;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
 }
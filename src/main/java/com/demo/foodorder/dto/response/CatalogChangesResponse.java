@@ -0,0 +1,59 @@
+package com.demo.foodorder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog changes after the client's version, collapsed to the current state of
+ * every changed restaurant, menu item and weekly timings. Empty collections are
+ * left out, so an up-to-date client receives little more than the version.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CatalogChangesResponse {
+
+    /**
+     * Sequence number to pass as {@code since} on the next call.
+     */
+    private long version;
+
+    /**
+     * More changes are waiting; call again with {@link #version} right away.
+     */
+    private boolean hasMore;
+
+    /**
+     * The change log no longer reaches back to {@code since}: reload the whole
+     * catalog, then continue from {@link #version}.
+     */
+    private boolean resyncRequired;
+
+    private List<RestaurantResponse> restaurants;
+
+    /**
+     * Restaurants that were deactivated, together with all of their menu items.
+     */
+    private List<Long> deactivatedRestaurantIds;
+
+    /**
+     * Current state of changed, still available menu items by restaurant id.
+     */
+    private Map<Long, List<MenuItemResponse>> menuItems;
+
+    /**
+     * Menu items that were deleted or are no longer available.
+     */
+    private List<Long> removedMenuItemIds;
+
+    /**
+     * Full weekly timings of every restaurant whose timings were replaced.
+     */
+    private Map<Long, List<TimingResponse>> timings;
+}
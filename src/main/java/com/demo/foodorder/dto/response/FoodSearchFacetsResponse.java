@@ -0,0 +1,20 @@
+package com.demo.foodorder.dto.response;
+
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class FoodSearchFacetsResponse {
+    private Map<FoodCategory, Long> categories;
+    private Map<CuisineType, Long> cuisines;
+    private long vegetarian;
+    private long vegan;
+    private long glutenFree;
+}
@@ -2,6 +2,9 @@ package com.demo.foodorder.dto.response;
 
 import com.demo.foodorder.enums.CuisineType;
 import com.demo.foodorder.enums.FoodCategory;
+import com.demo.foodorder.util.SparseFieldsets;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -9,8 +12,9 @@ import lombok.Getter;
 import java.math.BigDecimal;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
+@JsonFilter(SparseFieldsets.FILTER)
 public class FoodSearchResponse {
     private Long restaurantId;
     private String restaurantName;
@@ -24,5 +28,23 @@ public class FoodSearchResponse {
     private Boolean vegan;
     private Boolean glutenFree;
 
+    /**
+     * Distance from the searched location, only for location-aware searches.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
+
+    /**
+     * Constructor used by search query projections, which have no location.
+     */
+    public FoodSearchResponse(
+            Long restaurantId, String restaurantName,
+            Long menuItemId, String menuItemName, String description, BigDecimal price,
+            FoodCategory category, CuisineType cuisine,
+            Boolean vegetarian, Boolean vegan, Boolean glutenFree) {
+        this(restaurantId, restaurantName, menuItemId, menuItemName, description, price,
+                category, cuisine, vegetarian, vegan, glutenFree, null);
+    }
+
 }
 
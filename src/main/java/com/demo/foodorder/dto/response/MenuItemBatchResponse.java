@@ -0,0 +1,29 @@
+package com.demo.foodorder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Menu items looked up by id. Ids that could not be served are reported
+ * instead of failing the whole lookup.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class MenuItemBatchResponse {
+
+    /**
+     * Available menu items of active restaurants, in the order their ids were requested.
+     */
+    private List<MenuItemResponse> menuItems;
+
+    private List<Long> missingIds;
+
+    /**
+     * Menu items that are unavailable or whose restaurant is inactive.
+     */
+    private List<Long> inactiveIds;
+}
@@ -1,6 +1,8 @@
 package com.demo.foodorder.dto.response;
 
 import com.demo.foodorder.enums.OrderStatus;
+import com.demo.foodorder.util.SparseFieldsets;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -10,6 +12,7 @@ import java.util.List;
 
 @Getter
 @Builder
+@JsonFilter(SparseFieldsets.FILTER)
 public class OrderResponse {
 
     private Long id;
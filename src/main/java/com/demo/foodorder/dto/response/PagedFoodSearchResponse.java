@@ -1,5 +1,6 @@
 package com.demo.foodorder.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -9,12 +10,24 @@ import java.util.List;
 @Getter
 @Builder
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedFoodSearchResponse {
     private List<FoodSearchResponse> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean hasNext;
     private boolean hasPrevious;
+
+    /**
+     * Cursor for the next page in CURSOR pagination mode, null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Match counts per category, cuisine and dietary flag, only when requested
+     * and served from the search index.
+     */
+    private FoodSearchFacetsResponse facets;
 }
@@ -0,0 +1,23 @@
+package com.demo.foodorder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PagedRestaurantResponse {
+    private List<RestaurantResponse> content;
+    private int pageSize;
+    private boolean hasNext;
+
+    /**
+     * Cursor for the next page, null on the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.demo.foodorder.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Restaurants looked up by id. Ids that could not be served are reported
+ * instead of failing the whole lookup.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RestaurantBatchResponse {
+
+    /**
+     * Active restaurants, in the order their ids were requested.
+     */
+    private List<RestaurantResponse> restaurants;
+
+    /**
+     * Full weekly timings by restaurant id, only when requested.
+     */
+    private Map<Long, List<TimingResponse>> timings;
+
+    private List<Long> missingIds;
+
+    private List<Long> inactiveIds;
+}
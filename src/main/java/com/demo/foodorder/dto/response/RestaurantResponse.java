@@ -1,12 +1,15 @@
 package com.demo.foodorder.dto.response;
 
+import com.demo.foodorder.util.SparseFieldsets;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonFilter(SparseFieldsets.FILTER)
 public class RestaurantResponse {
 
     TimingResponse timingResponse;
@@ -20,4 +23,9 @@ public class RestaurantResponse {
     private String ownerEmail;
     private Boolean openNow;
 
+    /**
+     * Distance from the searched location, only for location-based listings.
+     */
+    private Double distanceKm;
+
 }
@@ -0,0 +1,18 @@
+package com.demo.foodorder.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SearchCacheStatsResponse {
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private int size;
+    private int maxEntries;
+    private long evictions;
+    private long invalidations;
+}
@@ -0,0 +1,17 @@
+package com.demo.foodorder.dto.response;
+
+import com.demo.foodorder.enums.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class SuggestionResponse {
+    private SuggestionType type;
+    private Long id;
+    private String name;
+    private Long restaurantId;
+    private String restaurantName;
+}
@@ -0,0 +1,46 @@
+package com.demo.foodorder.entity;
+
+
+import com.demo.foodorder.enums.CatalogEntityType;
+import com.demo.foodorder.enums.ChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the append-only catalog change log. The id doubles as the
+ * sequence number clients sync from; it is taken from {@link CatalogSequence}
+ * while the change commits, so ids appear in commit order.
+ */
+@Entity
+@Table(name = "catalog_change")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogChange {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CatalogEntityType entityType;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    @CreationTimestamp
+    private LocalDateTime changedAt;
+}
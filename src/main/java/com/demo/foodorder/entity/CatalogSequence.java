@@ -0,0 +1,28 @@
+package com.demo.foodorder.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row counter that hands out catalog change sequence numbers. Incrementing
+ * it locks the row until the transaction ends, so numbers are taken one writer at
+ * a time and appear in commit order.
+ */
+@Entity
+@Table(name = "catalog_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogSequence {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
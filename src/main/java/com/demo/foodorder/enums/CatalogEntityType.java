@@ -0,0 +1,7 @@
+package com.demo.foodorder.enums;
+
+public enum CatalogEntityType {
+    RESTAURANT,
+    MENU_ITEM,
+    TIMINGS
+}
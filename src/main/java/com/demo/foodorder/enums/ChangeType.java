@@ -0,0 +1,7 @@
+package com.demo.foodorder.enums;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
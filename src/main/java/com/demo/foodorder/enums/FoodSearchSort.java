@@ -0,0 +1,10 @@
+package com.demo.foodorder.enums;
+
+public enum FoodSearchSort {
+    RELEVANCE,
+    PRICE_ASC,
+    PRICE_DESC,
+    POPULARITY,
+    NEWEST,
+    DISTANCE
+}
@@ -0,0 +1,6 @@
+package com.demo.foodorder.enums;
+
+public enum PaginationMode {
+    OFFSET,
+    CURSOR
+}
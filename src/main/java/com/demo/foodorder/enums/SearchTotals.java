@@ -0,0 +1,7 @@
+package com.demo.foodorder.enums;
+
+public enum SearchTotals {
+    EXACT,
+    APPROXIMATE,
+    NONE
+}
@@ -0,0 +1,6 @@
+package com.demo.foodorder.enums;
+
+public enum SuggestionType {
+    MENU_ITEM,
+    RESTAURANT
+}
@@ -0,0 +1,10 @@
+package com.demo.foodorder.event;
+
+import com.demo.foodorder.enums.ChangeType;
+
+/**
+ * Published by owner menu operations. Listeners run after the surrounding
+ * transaction commits, so they always observe the committed state.
+ */
+public record MenuItemChangedEvent(Long restaurantId, Long menuItemId, ChangeType changeType) {
+}
@@ -0,0 +1,13 @@
+package com.demo.foodorder.event;
+
+import com.demo.foodorder.index.MenuItemDocument;
+
+import java.util.List;
+
+/**
+ * Published by the search index after it applied a change. {@code affected} holds
+ * both the previous and the new version of every changed document; {@code rebuilt}
+ * means the whole index was reloaded and every document may have changed.
+ */
+public record MenuItemIndexChangedEvent(List<MenuItemDocument> affected, boolean rebuilt) {
+}
@@ -0,0 +1,10 @@
+package com.demo.foodorder.event;
+
+import com.demo.foodorder.enums.ChangeType;
+
+/**
+ * Published by admin restaurant operations. A DELETED change means the
+ * restaurant and all of its menu items were deactivated.
+ */
+public record RestaurantChangedEvent(Long restaurantId, ChangeType changeType) {
+}
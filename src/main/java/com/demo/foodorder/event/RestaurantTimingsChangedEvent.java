@@ -0,0 +1,7 @@
+package com.demo.foodorder.event;
+
+/**
+ * Published when an owner replaces a restaurant's weekly timings.
+ */
+public record RestaurantTimingsChangedEvent(Long restaurantId) {
+}
@@ -14,9 +14,11 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -140,6 +142,34 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.error(message));
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse<String>> handleMissingParameter(
+            MissingServletRequestParameterException ex) {
+
+        String message = String.format("Missing required parameter '%s'", ex.getParameterName());
+        logger.error(message);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.error(message));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse<String>> handleArgumentTypeMismatch(
+            MethodArgumentTypeMismatchException ex) {
+
+        Class<?> requiredType = ex.getRequiredType();
+        String message = requiredType != null && requiredType.isEnum()
+                ? String.format(
+                        "Invalid value for '%s'. Allowed values: %s",
+                        ex.getName(),
+                        java.util.Arrays.toString(requiredType.getEnumConstants()))
+                : String.format("Invalid value for parameter '%s'", ex.getName());
+        logger.error(message);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ErrorResponse.error(message));
+    }
+
     @ExceptionHandler(DatabaseOperationException.class)
     public ResponseEntity<ErrorResponse<String>> handleDatabaseOperationException(
             DatabaseOperationException ex) {
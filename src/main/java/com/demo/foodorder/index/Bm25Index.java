@@ -0,0 +1,275 @@
+package com.demo.foodorder.index;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * BM25 text index over menu item name and description, with name terms counted
+ * {@link #NAME_WEIGHT} times. Postings are impact-ordered: each term's list is
+ * sorted by the term's score contribution, highest first, which lets top-k
+ * retrieval stop (Threshold Algorithm) once no unseen item can still enter
+ * the top k, so common terms do not require scoring every posting.
+ * <p>
+ * The average document length used for length normalization is fixed when the
+ * index is built and kept until the next build, so impacts of existing postings
+ * never change on incremental updates.
+ */
+final class Bm25Index {
+
+    static final int NAME_WEIGHT = 2;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final Map<String, ImpactPostings> postings = new HashMap<>();
+    private final Map<Integer, Map<String, Float>> impactsByOrdinal = new HashMap<>();
+    private float averageLength = 1f;
+
+    /**
+     * Lower-cased letter/digit runs of {@code text}.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        String normalized = NGramIndex.normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean inToken = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Replaces the contents with {@code docs}, each indexed under its list position.
+     * Postings are appended unsorted and each list is sorted once at the end, as
+     * {@link #add} would shift a list on every insert.
+     */
+    void build(List<MenuItemDocument> docs) {
+        postings.clear();
+        impactsByOrdinal.clear();
+
+        List<Map<String, Integer>> frequencies = docs.stream().map(Bm25Index::termFrequencies).toList();
+        averageLength = Math.max((float) frequencies.stream().mapToInt(Bm25Index::length).average().orElse(1), 1f);
+
+        for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+            int current = ordinal;
+            impactsByOrdinal.put(ordinal, impacts(frequencies.get(ordinal), (term, impact) ->
+                    postings.computeIfAbsent(term, t -> new ImpactPostings()).append(current, impact)));
+        }
+        postings.values().forEach(ImpactPostings::sort);
+    }
+
+    void add(int ordinal, MenuItemDocument doc) {
+        impactsByOrdinal.put(ordinal, impacts(termFrequencies(doc), (term, impact) ->
+                postings.computeIfAbsent(term, t -> new ImpactPostings()).add(ordinal, impact)));
+    }
+
+    void remove(int ordinal) {
+        Map<String, Float> impacts = impactsByOrdinal.remove(ordinal);
+        if (impacts == null) return;
+
+        impacts.forEach((term, impact) -> {
+            ImpactPostings list = postings.get(term);
+            list.remove(ordinal, impact);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    /**
+     * Ordinals containing at least one of {@code terms}. Walks every posting of the
+     * terms, so it is only meant for when all matches are needed (totals, facets).
+     */
+    BitSet matches(Collection<String> terms) {
+        BitSet matches = new BitSet();
+        for (String term : terms) {
+            ImpactPostings list = postings.get(term);
+            if (list == null) continue;
+            for (int i = 0; i < list.size; i++) {
+                matches.set(list.ordinals[i]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The {@code k} highest scoring ordinals in {@code eligible}, best first.
+     * {@code eligible} holds the non-text filters and is checked per ordinal as
+     * postings are read, so it may include items that match none of the terms.
+     * Lists are read in parallel by depth; after each depth the best score any
+     * unseen ordinal could reach is the sum of the impacts at that depth, and
+     * retrieval stops once the k-th best score beats it.
+     */
+    int[] topK(Collection<String> terms, BitSet eligible, int k) {
+        if (k <= 0) return new int[0];
+
+        int documentCount = impactsByOrdinal.size();
+        List<ImpactPostings> lists = new ArrayList<>();
+        List<Float> idfs = new ArrayList<>();
+        List<String> presentTerms = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(terms)) {
+            ImpactPostings list = postings.get(term);
+            if (list == null) continue;
+            lists.add(list);
+            idfs.add((float) Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5)));
+            presentTerms.add(term);
+        }
+
+        // Min-heap on score; ties keep the lower ordinal
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(k + 1, Comparator
+                .comparingDouble(ScoredOrdinal::score)
+                .thenComparing(ScoredOrdinal::ordinal, Comparator.reverseOrder()));
+        BitSet seen = new BitSet();
+
+        for (int depth = 0; ; depth++) {
+            float threshold = 0;
+            boolean exhausted = true;
+            for (int t = 0; t < lists.size(); t++) {
+                ImpactPostings list = lists.get(t);
+                if (depth >= list.size) continue;
+                exhausted = false;
+                threshold += idfs.get(t) * list.impacts[depth];
+
+                int ordinal = list.ordinals[depth];
+                if (seen.get(ordinal)) continue;
+                seen.set(ordinal);
+                if (!eligible.get(ordinal)) continue;
+
+                heap.offer(new ScoredOrdinal(ordinal, score(ordinal, presentTerms, idfs)));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+            if (exhausted || (heap.size() == k && settled(heap.peek(), threshold, lists.size()))) {
+                break;
+            }
+        }
+
+        int[] ranked = new int[heap.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = heap.poll().ordinal();
+        }
+        return ranked;
+    }
+
+    /**
+     * Whether no unseen ordinal can displace {@code kth}. One reaching the threshold
+     * could still win a tie on ordinal, except with a single list: postings with equal
+     * impact come in ordinal order, so unseen ties have higher ordinals and lose.
+     */
+    private static boolean settled(ScoredOrdinal kth, float threshold, int listCount) {
+        return kth.score() > threshold || (listCount == 1 && kth.score() == threshold);
+    }
+
+    private float score(int ordinal, List<String> terms, List<Float> idfs) {
+        Map<String, Float> impacts = impactsByOrdinal.get(ordinal);
+        float score = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            score += idfs.get(t) * impacts.getOrDefault(terms.get(t), 0f);
+        }
+        return score;
+    }
+
+    /**
+     * BM25 term weight (without IDF) of each term, passed to {@code sink} as computed.
+     */
+    private Map<String, Float> impacts(Map<String, Integer> frequencies, BiConsumer<String, Float> sink) {
+        float norm = K1 * (1 - B + B * length(frequencies) / averageLength);
+
+        Map<String, Float> impacts = new HashMap<>();
+        frequencies.forEach((term, tf) -> {
+            float impact = tf * (K1 + 1) / (tf + norm);
+            impacts.put(term, impact);
+            sink.accept(term, impact);
+        });
+        return impacts;
+    }
+
+    private static int length(Map<String, Integer> frequencies) {
+        return frequencies.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static Map<String, Integer> termFrequencies(MenuItemDocument doc) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(doc.name()).forEach(token -> frequencies.merge(token, NAME_WEIGHT, Integer::sum));
+        tokenize(doc.description()).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        return frequencies;
+    }
+
+    private record ScoredOrdinal(int ordinal, float score) {
+    }
+
+    /**
+     * Postings of one term sorted by impact descending, then ordinal ascending.
+     */
+    private static final class ImpactPostings {
+        private int[] ordinals = new int[4];
+        private float[] impacts = new float[4];
+        private int size;
+
+        void add(int ordinal, float impact) {
+            int insertAt = position(ordinal, impact);
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                impacts = Arrays.copyOf(impacts, size * 2);
+            }
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+            System.arraycopy(impacts, insertAt, impacts, insertAt + 1, size - insertAt);
+            ordinals[insertAt] = ordinal;
+            impacts[insertAt] = impact;
+            size++;
+        }
+
+        /** Adds at the end without keeping the order; {@link #sort} must follow. */
+        void append(int ordinal, float impact) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                impacts = Arrays.copyOf(impacts, size * 2);
+            }
+            ordinals[size] = ordinal;
+            impacts[size] = impact;
+            size++;
+        }
+
+        void sort() {
+            // Impacts are positive, so their negated bit patterns order them highest first
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = -Float.floatToIntBits(impacts[i]);
+            }
+            ordinals = Arrays.copyOf(ordinals, size);
+            OrdinalSort.sort(keys, ordinals);
+            impacts = new float[size];
+            for (int i = 0; i < size; i++) {
+                impacts[i] = Float.intBitsToFloat((int) -keys[i]);
+            }
+        }
+
+        void remove(int ordinal, float impact) {
+            int at = position(ordinal, impact);
+            if (at >= size || ordinals[at] != ordinal) return;
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            System.arraycopy(impacts, at + 1, impacts, at, size - at - 1);
+            size--;
+        }
+
+        /** First position that sorts at or after {@code (impact, ordinal)}. */
+        private int position(int ordinal, float impact) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                boolean before = impacts[mid] > impact || (impacts[mid] == impact && ordinals[mid] < ordinal);
+                if (before) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
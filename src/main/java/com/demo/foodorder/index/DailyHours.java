@@ -0,0 +1,11 @@
+package com.demo.foodorder.index;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * A restaurant's opening window on one day. A {@code closeTime} before
+ * {@code openTime} means the window runs past midnight into the next day.
+ */
+public record DailyHours(DayOfWeek dayOfWeek, LocalTime openTime, LocalTime closeTime) {
+}
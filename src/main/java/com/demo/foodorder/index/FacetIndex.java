@@ -0,0 +1,139 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One bitmap per low-cardinality value (food category, cuisine and each
+ * dietary flag) over menu item ordinals. Filtering is a series of bitmap
+ * intersections instead of a per-row predicate.
+ * <p>
+ * The bitmaps are plain {@link BitSet}s. There are only a few dozen of them, each
+ * one bit per ordinal, and ordinals stay dense because the search index compacts
+ * them; every filter is also intersected with a {@link BitSet} of candidates.
+ */
+final class FacetIndex {
+
+    private final Map<FoodCategory, BitSet> categories = new EnumMap<>(FoodCategory.class);
+    private final Map<CuisineType, BitSet> cuisines = new EnumMap<>(CuisineType.class);
+    private BitSet vegetarian = new BitSet();
+    private BitSet vegan = new BitSet();
+    private BitSet glutenFree = new BitSet();
+
+    void add(int ordinal, MenuItemDocument doc) {
+        if (doc.category() != null) {
+            categories.computeIfAbsent(doc.category(), c -> new BitSet()).set(ordinal);
+        }
+        if (doc.cuisine() != null) {
+            cuisines.computeIfAbsent(doc.cuisine(), c -> new BitSet()).set(ordinal);
+        }
+        vegetarian.set(ordinal, doc.vegetarian());
+        vegan.set(ordinal, doc.vegan());
+        glutenFree.set(ordinal, doc.glutenFree());
+    }
+
+    void remove(int ordinal, MenuItemDocument doc) {
+        if (doc.category() != null) {
+            categories.get(doc.category()).clear(ordinal);
+        }
+        if (doc.cuisine() != null) {
+            cuisines.get(doc.cuisine()).clear(ordinal);
+        }
+        vegetarian.clear(ordinal);
+        vegan.clear(ordinal);
+        glutenFree.clear(ordinal);
+    }
+
+    /**
+     * Drops every bitmap. New ones are allocated rather than cleared, since a cleared
+     * BitSet keeps the capacity of the highest ordinal it ever held.
+     */
+    void clear() {
+        categories.clear();
+        cuisines.clear();
+        vegetarian = new BitSet();
+        vegan = new BitSet();
+        glutenFree = new BitSet();
+    }
+
+    /**
+     * Narrows {@code candidates} in place to ordinals matching every supplied filter.
+     */
+    void filter(BitSet candidates, MenuItemQuery query) {
+        applyFlags(candidates, query);
+        applyCategory(candidates, query.category());
+        applyCuisine(candidates, query.cuisine());
+    }
+
+    /**
+     * Counts per facet value over {@code candidates}, which must not have the facet
+     * filters applied yet. Each dimension is counted with the other dimensions' filters
+     * applied, using one intersection per value.
+     */
+    MenuItemFacets count(BitSet candidates, MenuItemQuery query) {
+        BitSet flagged = (BitSet) candidates.clone();
+        applyFlags(flagged, query);
+
+        BitSet forCategories = (BitSet) flagged.clone();
+        applyCuisine(forCategories, query.cuisine());
+        Map<FoodCategory, Long> categoryCounts = new EnumMap<>(FoodCategory.class);
+        for (FoodCategory category : FoodCategory.values()) {
+            categoryCounts.put(category, intersectionSize(forCategories, categories.get(category)));
+        }
+
+        BitSet forCuisines = flagged;
+        applyCategory(forCuisines, query.category());
+        Map<CuisineType, Long> cuisineCounts = new EnumMap<>(CuisineType.class);
+        for (CuisineType cuisine : CuisineType.values()) {
+            cuisineCounts.put(cuisine, intersectionSize(forCuisines, cuisines.get(cuisine)));
+        }
+
+        BitSet matches = forCategories;
+        applyCategory(matches, query.category());
+        return new MenuItemFacets(
+                categoryCounts,
+                cuisineCounts,
+                intersectionSize(matches, vegetarian),
+                intersectionSize(matches, vegan),
+                intersectionSize(matches, glutenFree)
+        );
+    }
+
+    private void applyCategory(BitSet candidates, FoodCategory category) {
+        if (category != null) {
+            candidates.and(categories.getOrDefault(category, new BitSet()));
+        }
+    }
+
+    private void applyCuisine(BitSet candidates, CuisineType cuisine) {
+        if (cuisine != null) {
+            candidates.and(cuisines.getOrDefault(cuisine, new BitSet()));
+        }
+    }
+
+    private void applyFlags(BitSet candidates, MenuItemQuery query) {
+        applyFlag(candidates, vegetarian, query.vegetarian());
+        applyFlag(candidates, vegan, query.vegan());
+        applyFlag(candidates, glutenFree, query.glutenFree());
+    }
+
+    private static void applyFlag(BitSet candidates, BitSet flag, Boolean wanted) {
+        if (wanted == null) return;
+        if (wanted) {
+            candidates.and(flag);
+        } else {
+            candidates.andNot(flag);
+        }
+    }
+
+    private static long intersectionSize(BitSet candidates, BitSet values) {
+        if (values == null) return 0;
+        BitSet intersection = (BitSet) candidates.clone();
+        intersection.and(values);
+        return intersection.cardinality();
+    }
+}
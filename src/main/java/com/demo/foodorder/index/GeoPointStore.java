@@ -0,0 +1,167 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Locations kept as points on the unit sphere in parallel primitive arrays.
+ * <p>
+ * The straight-line (chord) distance between two unit vectors grows with the
+ * great-circle distance, so a radius scan compares squared chords in a branch-free
+ * multiply-add loop the JIT can vectorize, and only converts the survivors back to
+ * kilometres. The conversion is the haversine formula with the chord standing in
+ * for the trigonometric terms, so distances match {@link GeoUtils#distanceKm}.
+ * <p>
+ * Not thread-safe; callers guard it with their own lock.
+ */
+final class GeoPointStore {
+
+    // Chords are compared one block at a time so the scratch array stays in cache
+    private static final int BLOCK = 1024;
+
+    private long[] ids = new long[16];
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private double[] zs = new double[16];
+    private int size;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long id) {
+        return slots.containsKey(id);
+    }
+
+    /**
+     * Adds the location, replacing any previous one for the same id.
+     */
+    void put(long id, double lat, double lng) {
+        Integer slot = slots.get(id);
+        if (slot == null) {
+            if (size == ids.length) {
+                grow();
+            }
+            slot = size++;
+            slots.put(id, slot);
+            ids[slot] = id;
+        }
+
+        UnitVector point = UnitVector.of(lat, lng);
+        xs[slot] = point.x;
+        ys[slot] = point.y;
+        zs[slot] = point.z;
+    }
+
+    void remove(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) return;
+
+        // Move the last point into the freed slot to keep the arrays dense
+        int last = --size;
+        if (slot != last) {
+            ids[slot] = ids[last];
+            xs[slot] = xs[last];
+            ys[slot] = ys[last];
+            zs[slot] = zs[last];
+            slots.put(ids[slot], slot);
+        }
+    }
+
+    void clear() {
+        slots.clear();
+        size = 0;
+    }
+
+    void forEachId(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(ids[i]);
+        }
+    }
+
+    /**
+     * Distance in kilometres from {@code point} to the location stored for {@code id}.
+     */
+    double distanceKm(long id, UnitVector point) {
+        int slot = slots.get(id);
+        double dx = xs[slot] - point.x;
+        double dy = ys[slot] - point.y;
+        double dz = zs[slot] - point.z;
+        return chordToKm(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Adds every location within {@code radiusKm} of {@code point} to {@code matches},
+     * in storage order.
+     */
+    void within(UnitVector point, double radiusKm, List<RestaurantDistance> matches) {
+        double maxChordSquared = kmToChordSquared(radiusKm);
+        double[] chords = new double[Math.min(BLOCK, size)];
+
+        for (int from = 0; from < size; from += BLOCK) {
+            int to = Math.min(from + BLOCK, size);
+            for (int i = from; i < to; i++) {
+                double dx = xs[i] - point.x;
+                double dy = ys[i] - point.y;
+                double dz = zs[i] - point.z;
+                chords[i - from] = dx * dx + dy * dy + dz * dz;
+            }
+            for (int i = from; i < to; i++) {
+                double chordSquared = chords[i - from];
+                if (chordSquared <= maxChordSquared) {
+                    matches.add(new RestaurantDistance(ids[i], chordToKm(chordSquared)));
+                }
+            }
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+    }
+
+    private static double chordToKm(double chordSquared) {
+        // Haversine: a = sin²(θ/2) is a quarter of the squared chord
+        double a = Math.min(1, chordSquared / 4);
+        return GeoUtils.EARTH_RADIUS_KM * 2 * Math.asin(Math.sqrt(a));
+    }
+
+    private static double kmToChordSquared(double km) {
+        if (km >= Math.PI * GeoUtils.EARTH_RADIUS_KM) return 4;
+        double halfChord = Math.sin(km / GeoUtils.EARTH_RADIUS_KM / 2);
+        return 4 * halfChord * halfChord;
+    }
+
+    /**
+     * A latitude/longitude converted once to a point on the unit sphere.
+     */
+    static final class UnitVector {
+
+        final double x;
+        final double y;
+        final double z;
+
+        private UnitVector(double x, double y, double z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        static UnitVector of(double lat, double lng) {
+            double latRad = Math.toRadians(lat);
+            double lngRad = Math.toRadians(lng);
+            double cosLat = Math.cos(latRad);
+            return new UnitVector(cosLat * Math.cos(lngRad), cosLat * Math.sin(lngRad), Math.sin(latRad));
+        }
+    }
+}
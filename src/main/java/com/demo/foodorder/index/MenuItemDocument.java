@@ -0,0 +1,42 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable snapshot of the menu item fields held by {@link MenuItemSearchIndex}.
+ * Holds everything a search result needs, so result pages are served without
+ * touching the database.
+ */
+public record MenuItemDocument(
+        Long id,
+        Long restaurantId,
+        String restaurantName,
+        String name,
+        String description,
+        FoodCategory category,
+        CuisineType cuisine,
+        BigDecimal price,
+        boolean vegetarian,
+        boolean vegan,
+        boolean glutenFree) {
+
+    static MenuItemDocument of(MenuItem item) {
+        return new MenuItemDocument(
+                item.getId(),
+                item.getRestaurant().getId(),
+                item.getRestaurant().getName(),
+                item.getName(),
+                item.getDescription(),
+                item.getFoodCategory(),
+                item.getCuisineType(),
+                item.getPrice(),
+                Boolean.TRUE.equals(item.getVegetarian()),
+                Boolean.TRUE.equals(item.getVegan()),
+                Boolean.TRUE.equals(item.getGlutenFree())
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+
+import java.util.Map;
+
+/**
+ * Match counts per facet value. Category counts apply every filter except the
+ * category one and cuisine counts every filter except the cuisine one, so each
+ * count is the total a user would get by picking that value. Dietary counts are
+ * over the final matches.
+ */
+public record MenuItemFacets(
+        Map<FoodCategory, Long> categories,
+        Map<CuisineType, Long> cuisines,
+        long vegetarian,
+        long vegan,
+        long glutenFree) {
+}
@@ -0,0 +1,11 @@
+package com.demo.foodorder.index;
+
+import java.util.List;
+
+/**
+ * One page of index matches plus the total number of matches.
+ * {@code total} is null when it was not requested and would have cost extra to
+ * count, and {@code facets} is null unless facet counts were requested.
+ */
+public record MenuItemHits(List<MenuItemDocument> documents, Long total, boolean hasNext, MenuItemFacets facets) {
+}
@@ -0,0 +1,47 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Filters understood by {@link MenuItemSearchIndex}. Null fields do not filter.
+ * {@code restaurantIds} restricts results to the given restaurants (e.g. those open now).
+ */
+public record MenuItemQuery(
+        String q,
+        FoodCategory category,
+        CuisineType cuisine,
+        Boolean vegetarian,
+        Boolean vegan,
+        Boolean glutenFree,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Collection<Long> restaurantIds) {
+
+    /**
+     * Whether {@code doc} satisfies every filter of this query, evaluated directly
+     * on the document rather than through the index.
+     */
+    public boolean matches(MenuItemDocument doc) {
+        return (q == null || NGramIndex.normalize(doc.name()).contains(NGramIndex.normalize(q)))
+                && (category == null || category == doc.category())
+                && (cuisine == null || cuisine == doc.cuisine())
+                && (vegetarian == null || vegetarian == doc.vegetarian())
+                && (vegan == null || vegan == doc.vegan())
+                && (glutenFree == null || glutenFree == doc.glutenFree())
+                && (minPrice == null || doc.price().compareTo(minPrice) >= 0)
+                && (maxPrice == null || doc.price().compareTo(maxPrice) <= 0)
+                && (restaurantIds == null || restaurantIds.contains(doc.restaurantId()));
+    }
+
+    /**
+     * This query without its category and cuisine filters: the scope facet counts
+     * are taken over, since each facet dimension is counted without its own filter.
+     */
+    public MenuItemQuery withoutFacetFilters() {
+        return new MenuItemQuery(q, null, null, vegetarian, vegan, glutenFree, minPrice, maxPrice, restaurantIds);
+    }
+}
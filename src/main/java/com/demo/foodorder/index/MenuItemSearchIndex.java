@@ -0,0 +1,585 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.event.MenuItemChangedEvent;
+import com.demo.foodorder.event.MenuItemIndexChangedEvent;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index over searchable menu items (available items of active restaurants).
+ * Each item gets a dense ordinal; sub-indexes are keyed by those ordinals.
+ * The index is built once the application is ready and kept up to date from
+ * menu and restaurant change events, and periodically compacted to drop the
+ * ordinals of removed items.
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuItemSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuItemSearchIndex.class);
+    // Compact once more than a quarter of the ordinal slots are empty
+    private static final int COMPACT_EMPTY_RATIO = 4;
+    private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Serializes the writers, which read the database before taking the write lock
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<MenuItemDocument> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final Map<Long, Set<Integer>> ordinalsByRestaurant = new HashMap<>();
+    private final NGramIndex nameIndex = new NGramIndex();
+    private final FacetIndex facetIndex = new FacetIndex();
+    private final PriceIndex priceIndex = new PriceIndex();
+    private final Bm25Index textIndex = new Bm25Index();
+    private final OrdinalOrder cheapestFirst = new OrdinalOrder();
+    private final OrdinalOrder priciestFirst = new OrdinalOrder();
+    private final OrdinalOrder popularFirst = new OrdinalOrder();
+    private final OrdinalOrder newestFirst = new OrdinalOrder();
+    private Map<Long, Long> orderCounts = Map.of();
+    private volatile long popularityVersion;
+    private BitSet live = new BitSet();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Bumped whenever popularity counts are refreshed, which reorders
+     * {@link FoodSearchSort#POPULARITY} results without any item changing.
+     */
+    public long popularityVersion() {
+        return popularityVersion;
+    }
+
+    /**
+     * Reloads every searchable item from the database. The items are read under the
+     * update lock only, so searches keep running until the new contents are swapped in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        updateLock.lock();
+        try {
+            Map<Long, Long> counts = loadOrderCounts();
+            List<MenuItemDocument> docs = menuItemRepository.findAllSearchable()
+                    .stream()
+                    .map(MenuItemDocument::of)
+                    .toList();
+
+            lock.writeLock().lock();
+            try {
+                orderCounts = counts;
+                load(docs);
+                ready = true;
+                logger.info("Menu item search index built with {} items", docs.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        eventPublisher.publishEvent(new MenuItemIndexChangedEvent(List.of(), true));
+    }
+
+    /**
+     * Re-indexes the live documents under dense ordinals once removed items have left
+     * too many empty slots. Ordinals are never reused between rebuilds, and without
+     * this the bitmaps and sorted arrays would keep growing with every removal.
+     */
+    @Scheduled(
+            initialDelayString = "${app.search.compact-ms}",
+            fixedDelayString = "${app.search.compact-ms}")
+    public void compact() {
+        if (!ready) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                int empty = documents.size() - live.cardinality();
+                if (empty <= documents.size() / COMPACT_EMPTY_RATIO) return;
+
+                List<MenuItemDocument> docs = documents.stream().filter(Objects::nonNull).toList();
+                load(docs);
+                logger.info("Menu item search index compacted, {} empty slots dropped", empty);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        // Nothing was added or removed, but BM25 length norms are recomputed, so ranked pages may move
+        eventPublisher.publishEvent(new MenuItemIndexChangedEvent(List.of(), false));
+    }
+
+    /**
+     * Reloads order counts and re-sorts the popularity order. Orders do not change
+     * the items themselves, so this runs on a schedule rather than per order.
+     */
+    @Scheduled(
+            initialDelayString = "${app.search.popularity.refresh-ms}",
+            fixedDelayString = "${app.search.popularity.refresh-ms}")
+    public void refreshPopularity() {
+        if (!ready) {
+            return;
+        }
+        Map<Long, Long> counts = loadOrderCounts();
+
+        lock.writeLock().lock();
+        try {
+            orderCounts = counts;
+            buildPopularFirst();
+            popularityVersion++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the changed item and applies it. Listeners take turns on the update
+     * lock, so the later of two commits on the same item reads after both and is
+     * applied last. Only applying takes the write lock, so searches never wait on
+     * the database.
+     */
+    @TransactionalEventListener
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        List<MenuItemDocument> affected = new ArrayList<>();
+        updateLock.lock();
+        try {
+            Optional<MenuItem> item = menuItemRepository.findSearchableById(event.menuItemId());
+
+            lock.writeLock().lock();
+            try {
+                if (item.isPresent()) {
+                    MenuItemDocument doc = MenuItemDocument.of(item.get());
+                    affected.add(doc);
+                    addIfPresent(affected, upsert(doc));
+                } else {
+                    addIfPresent(affected, remove(event.menuItemId()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        eventPublisher.publishEvent(new MenuItemIndexChangedEvent(affected, false));
+    }
+
+    /**
+     * Re-reads the restaurant's items like {@link #onMenuItemChanged}. Items still
+     * returned are replaced in place under their ordinals; only the ones no longer
+     * searchable are removed.
+     */
+    @TransactionalEventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        List<MenuItemDocument> affected = new ArrayList<>();
+        updateLock.lock();
+        try {
+            List<MenuItem> items = menuItemRepository.findSearchableByRestaurantId(event.restaurantId());
+
+            lock.writeLock().lock();
+            try {
+                Set<Long> staleIds = new HashSet<>();
+                ordinalsByRestaurant.getOrDefault(event.restaurantId(), Set.of())
+                        .forEach(ordinal -> staleIds.add(documents.get(ordinal).id()));
+                for (MenuItem item : items) {
+                    MenuItemDocument doc = MenuItemDocument.of(item);
+                    staleIds.remove(doc.id());
+                    affected.add(doc);
+                    addIfPresent(affected, upsert(doc));
+                }
+                staleIds.forEach(id -> addIfPresent(affected, remove(id)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        eventPublisher.publishEvent(new MenuItemIndexChangedEvent(affected, false));
+    }
+
+    public Optional<MenuItemDocument> findById(Long itemId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(itemId);
+            return ordinal == null ? Optional.empty() : Optional.of(documents.get(ordinal));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every indexed document, in ordinal order.
+     */
+    public List<MenuItemDocument> documents() {
+        lock.readLock().lock();
+        try {
+            return documents.stream().filter(Objects::nonNull).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Matches for {@code query}, skipping {@code offset} matches and returning at most
+     * {@code limit}. Matches come in index order, in the pre-sorted order kept for
+     * price, popularity and newest sorts, or by BM25 score over name and description
+     * for {@link FoodSearchSort#RELEVANCE} with a query, in which case {@code q}
+     * matches any of its words rather than a name substring. For
+     * {@link FoodSearchSort#DISTANCE}, restaurants are taken in the iteration order of
+     * {@code restaurantIds}, which callers pass nearest first. With
+     * {@code withFacets}, also counts matches per facet value from the same candidate
+     * bitmap. The total is always counted except for ranked searches, which only
+     * count it with {@code withTotal} or {@code withFacets}. Empty when the index is not built yet, in
+     * which case callers fall back to the database.
+     */
+    public Optional<MenuItemHits> search(
+            MenuItemQuery query,
+            FoodSearchSort sort,
+            int offset,
+            int limit,
+            boolean withTotal,
+            boolean withFacets) {
+        if (!ready) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            String q = query.q() == null ? null : NGramIndex.normalize(query.q());
+            List<String> terms = sort == FoodSearchSort.RELEVANCE && q != null
+                    ? Bm25Index.tokenize(q)
+                    : null;
+            if (terms != null) {
+                // Ranked matching is by word, so the substring check below does not apply
+                return Optional.of(ranked(query, terms, offset, limit, withTotal, withFacets));
+            }
+
+            BitSet candidates = candidates(q);
+            narrow(candidates, query);
+
+            MenuItemFacets facets = null;
+            if (withFacets) {
+                // Facet counts ignore the facet filters themselves, so verify before narrowing
+                retainMatching(candidates, q);
+                facets = facetIndex.count(candidates, query);
+                facetIndex.filter(candidates, query);
+            } else {
+                facetIndex.filter(candidates, query);
+                retainMatching(candidates, q);
+            }
+
+            List<MenuItemDocument> page = new ArrayList<>();
+            if (sort == FoodSearchSort.DISTANCE && query.restaurantIds() != null) {
+                nearestFirst(candidates, query.restaurantIds(), offset, limit)
+                        .forEach(ordinal -> page.add(documents.get(ordinal)));
+            } else if (order(sort) != null) {
+                for (int ordinal : order(sort).page(candidates, offset, limit)) {
+                    page.add(documents.get(ordinal));
+                }
+            } else {
+                int position = 0;
+                for (int ordinal = candidates.nextSetBit(0);
+                     ordinal >= 0 && page.size() < limit;
+                     ordinal = candidates.nextSetBit(ordinal + 1)) {
+                    if (position++ >= offset) {
+                        page.add(documents.get(ordinal));
+                    }
+                }
+            }
+            long total = candidates.cardinality();
+            return Optional.of(new MenuItemHits(page, total, (long) offset + limit < total, facets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 ranked page. The other filters become a bitmap over live items that top-k
+     * retrieval checks per posting, so unless a total or facets are requested only the
+     * postings read before the threshold stops retrieval are visited. One extra
+     * result is fetched to tell whether there is a next page.
+     */
+    private MenuItemHits ranked(
+            MenuItemQuery query,
+            List<String> terms,
+            int offset,
+            int limit,
+            boolean withTotal,
+            boolean withFacets) {
+        BitSet eligible = (BitSet) live.clone();
+        narrow(eligible, query);
+
+        Long total = null;
+        MenuItemFacets facets = null;
+        if (withTotal || withFacets) {
+            // Counting needs every match, so here the postings are walked in full
+            BitSet matches = textIndex.matches(terms);
+            matches.and(eligible);
+            if (withFacets) {
+                facets = facetIndex.count(matches, query);
+            }
+            facetIndex.filter(matches, query);
+            total = (long) matches.cardinality();
+            eligible = matches;
+        } else {
+            facetIndex.filter(eligible, query);
+        }
+
+        int[] ranked = textIndex.topK(terms, eligible, offset + limit + 1);
+        List<MenuItemDocument> page = new ArrayList<>();
+        for (int i = offset; i < Math.min(ranked.length, offset + limit); i++) {
+            page.add(documents.get(ranked[i]));
+        }
+        return new MenuItemHits(page, total, ranked.length > offset + limit, facets);
+    }
+
+    /**
+     * Narrows {@code candidates} to the restaurant and price filters.
+     */
+    private void narrow(BitSet candidates, MenuItemQuery query) {
+        if (query.restaurantIds() != null) {
+            candidates.and(restaurantOrdinals(query.restaurantIds()));
+        }
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            candidates.and(priceIndex.range(query.minPrice(), query.maxPrice()));
+        }
+    }
+
+    /**
+     * Candidates grouped by restaurant in the order of {@code restaurantIds}, stopping
+     * once the page is filled.
+     */
+    private List<Integer> nearestFirst(BitSet candidates, Collection<Long> restaurantIds, int offset, int limit) {
+        List<Integer> page = new ArrayList<>();
+        int position = 0;
+        for (Long restaurantId : restaurantIds) {
+            List<Integer> ordinals = ordinalsByRestaurant.getOrDefault(restaurantId, Set.of()).stream()
+                    .filter(candidates::get)
+                    .sorted()
+                    .toList();
+            if (position + ordinals.size() <= offset) {
+                position += ordinals.size();
+                continue;
+            }
+            for (int ordinal : ordinals) {
+                if (position++ >= offset) {
+                    page.add(ordinal);
+                    if (page.size() == limit) return page;
+                }
+            }
+        }
+        return page;
+    }
+
+    private OrdinalOrder order(FoodSearchSort sort) {
+        if (sort == null) return null;
+        return switch (sort) {
+            case PRICE_ASC -> cheapestFirst;
+            case PRICE_DESC -> priciestFirst;
+            case POPULARITY -> popularFirst;
+            case NEWEST -> newestFirst;
+            case RELEVANCE, DISTANCE -> null;
+        };
+    }
+
+    private void retainMatching(BitSet candidates, String q) {
+        if (q == null) {
+            return;
+        }
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            if (!NGramIndex.normalize(documents.get(ordinal).name()).contains(q)) {
+                candidates.clear(ordinal);
+            }
+        }
+    }
+
+    private BitSet candidates(String q) {
+        if (q == null || !NGramIndex.isSearchable(q)) {
+            // Too short for a trigram lookup; every live item is verified against q instead
+            return (BitSet) live.clone();
+        }
+        BitSet candidates = new BitSet(documents.size());
+        for (int ordinal : nameIndex.candidates(q)) {
+            candidates.set(ordinal);
+        }
+        return candidates;
+    }
+
+    private BitSet restaurantOrdinals(Collection<Long> restaurantIds) {
+        BitSet ordinals = new BitSet(documents.size());
+        for (Long restaurantId : restaurantIds) {
+            ordinalsByRestaurant.getOrDefault(restaurantId, Set.of()).forEach(ordinals::set);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Re-sorts the popularity order of every live item from the current order counts.
+     */
+    private void buildPopularFirst() {
+        int[] ordinals = live.stream().toArray();
+        long[] keys = new long[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            keys[i] = popularityKey(documents.get(ordinals[i]));
+        }
+        popularFirst.build(ordinals, keys);
+    }
+
+    private Map<Long, Long> loadOrderCounts() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : menuItemRepository.findMenuItemsWithOrderCount()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    // Orders are ascending, so descending sorts use negated keys and ties stay in ordinal order
+
+    private long popularityKey(MenuItemDocument doc) {
+        return -orderCounts.getOrDefault(doc.id(), 0L);
+    }
+
+    private static long priceKey(MenuItemDocument doc) {
+        return PriceIndex.toCents(doc.price(), RoundingMode.HALF_UP);
+    }
+
+    // Ids are assigned in creation order, so the highest id is the newest item
+    private static long newestKey(MenuItemDocument doc) {
+        return -doc.id();
+    }
+
+    private static void addIfPresent(List<MenuItemDocument> affected, MenuItemDocument doc) {
+        if (doc != null) {
+            affected.add(doc);
+        }
+    }
+
+    /**
+     * Replaces the contents with {@code docs}, each under its list position.
+     */
+    private void load(List<MenuItemDocument> docs) {
+        // Fresh containers rather than clear(), which would keep the capacity of the old ordinal range
+        documents = new ArrayList<>(docs.size());
+        live = new BitSet(docs.size());
+        ordinalsById.clear();
+        ordinalsByRestaurant.clear();
+        nameIndex.clear();
+        facetIndex.clear();
+        textIndex.build(docs);
+
+        int[] ordinals = new int[docs.size()];
+        BigDecimal[] prices = new BigDecimal[docs.size()];
+        long[] cheapestKeys = new long[docs.size()];
+        long[] priciestKeys = new long[docs.size()];
+        long[] newestKeys = new long[docs.size()];
+        for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+            MenuItemDocument doc = docs.get(ordinal);
+            documents.add(doc);
+            ordinalsById.put(doc.id(), ordinal);
+            link(ordinal, doc);
+            ordinals[ordinal] = ordinal;
+            prices[ordinal] = doc.price();
+            cheapestKeys[ordinal] = priceKey(doc);
+            priciestKeys[ordinal] = -priceKey(doc);
+            newestKeys[ordinal] = newestKey(doc);
+        }
+        // Sorted once here, like the text index; upsert's insert per item would shift the arrays n times
+        priceIndex.build(ordinals, prices);
+        cheapestFirst.build(ordinals, cheapestKeys);
+        priciestFirst.build(ordinals, priciestKeys);
+        newestFirst.build(ordinals, newestKeys);
+        buildPopularFirst();
+    }
+
+    /**
+     * Inserts or replaces {@code doc}, returning the replaced version if there was one.
+     */
+    private MenuItemDocument upsert(MenuItemDocument doc) {
+        Integer ordinal = ordinalsById.get(doc.id());
+        MenuItemDocument previous = null;
+        if (ordinal == null) {
+            ordinal = documents.size();
+            documents.add(doc);
+            ordinalsById.put(doc.id(), ordinal);
+        } else {
+            previous = documents.get(ordinal);
+            unlink(ordinal, previous);
+            documents.set(ordinal, doc);
+        }
+
+        link(ordinal, doc);
+        textIndex.add(ordinal, doc);
+        priceIndex.add(ordinal, doc.price());
+        cheapestFirst.add(ordinal, priceKey(doc));
+        priciestFirst.add(ordinal, -priceKey(doc));
+        popularFirst.add(ordinal, popularityKey(doc));
+        newestFirst.add(ordinal, newestKey(doc));
+        return previous;
+    }
+
+    /**
+     * Adds {@code doc} under {@code ordinal} to the structures that have no bulk load;
+     * the text and price indexes and the sort orders are handled by the callers.
+     */
+    private void link(int ordinal, MenuItemDocument doc) {
+        nameIndex.add(ordinal, doc.name());
+        facetIndex.add(ordinal, doc);
+        live.set(ordinal);
+        ordinalsByRestaurant.computeIfAbsent(doc.restaurantId(), id -> new HashSet<>()).add(ordinal);
+    }
+
+    /**
+     * Removes the item, returning its last indexed version, or null if it was not indexed.
+     */
+    private MenuItemDocument remove(Long itemId) {
+        Integer ordinal = ordinalsById.remove(itemId);
+        if (ordinal == null) return null;
+
+        MenuItemDocument doc = documents.get(ordinal);
+        unlink(ordinal, doc);
+        // Ordinals are never reused; the slot stays empty until the next rebuild or compaction
+        documents.set(ordinal, null);
+        return doc;
+    }
+
+    private void unlink(int ordinal, MenuItemDocument doc) {
+        nameIndex.remove(ordinal, doc.name());
+        facetIndex.remove(ordinal, doc);
+        textIndex.remove(ordinal);
+        priceIndex.remove(ordinal, doc.price());
+        cheapestFirst.remove(ordinal, priceKey(doc));
+        priciestFirst.remove(ordinal, -priceKey(doc));
+        popularFirst.remove(ordinal, popularityKey(doc));
+        newestFirst.remove(ordinal, newestKey(doc));
+        live.clear(ordinal);
+        Set<Integer> restaurantOrdinals = ordinalsByRestaurant.get(doc.restaurantId());
+        if (restaurantOrdinals != null) {
+            restaurantOrdinals.remove(ordinal);
+            if (restaurantOrdinals.isEmpty()) {
+                ordinalsByRestaurant.remove(doc.restaurantId());
+            }
+        }
+    }
+}
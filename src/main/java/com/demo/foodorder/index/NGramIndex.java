@@ -0,0 +1,83 @@
+package com.demo.foodorder.index;
+
+import java.util.*;
+
+/**
+ * Trigram inverted index. A text containing the query as a substring must
+ * contain every trigram of the query, so intersecting the posting lists of
+ * the query trigrams yields a superset of the matches. Callers verify the
+ * candidates against the original text.
+ */
+final class NGramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    static boolean isSearchable(String normalizedQuery) {
+        return normalizedQuery.length() >= GRAM_LENGTH;
+    }
+
+    void add(int ordinal, String text) {
+        for (String gram : grams(normalize(text))) {
+            postings.computeIfAbsent(gram, g -> new IntPostingList()).add(ordinal);
+        }
+    }
+
+    void remove(int ordinal, String text) {
+        for (String gram : grams(normalize(text))) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) continue;
+            list.remove(ordinal);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns candidate ordinals in ascending order. The query must already be
+     * normalized and at least {@link #GRAM_LENGTH} characters long.
+     */
+    int[] candidates(String normalizedQuery) {
+        List<IntPostingList> lists = new ArrayList<>();
+        for (String gram : grams(normalizedQuery)) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) return new int[0];
+            lists.add(list);
+        }
+
+        // Start from the rarest gram so the work is bounded by the smallest list
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        int[] result = lists.get(0).toArray();
+        int length = result.length;
+
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            IntPostingList other = lists.get(i);
+            int kept = 0;
+            for (int j = 0; j < length; j++) {
+                if (other.contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
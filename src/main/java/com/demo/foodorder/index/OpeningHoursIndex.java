@@ -0,0 +1,177 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Restaurant opening hours compiled into one minute-of-week bitmap per restaurant,
+ * so "is it open at T" is a single bit lookup instead of a timing query.
+ * The set of restaurants open in the current minute is computed once and reused
+ * until the minute or the schedules change.
+ * <p>
+ * Schedules are loaded on first use and reloaded per restaurant after timing changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpeningHoursIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningHoursIndex.class);
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final RestaurantTimingRepository timingRepository;
+
+    private volatile Map<Long, Schedule> schedules;
+    private volatile long version;
+    private volatile OpenSnapshot openSnapshot;
+
+    /**
+     * Incremented whenever any schedule changes; results derived from opening
+     * hours can be keyed on it.
+     */
+    public long version() {
+        schedules();
+        return version;
+    }
+
+    public boolean isOpen(Long restaurantId, LocalDateTime at) {
+        Schedule schedule = schedules().get(restaurantId);
+        return schedule != null && schedule.minutes().get(minuteOfWeek(at));
+    }
+
+    /**
+     * Ids of all restaurants open during the minute containing {@code at}.
+     */
+    public Set<Long> openRestaurantIds(LocalDateTime at) {
+        Map<Long, Schedule> current = schedules();
+        LocalDateTime minute = at.truncatedTo(ChronoUnit.MINUTES);
+        long currentVersion = version;
+
+        OpenSnapshot snapshot = openSnapshot;
+        if (snapshot != null && snapshot.minute().equals(minute) && snapshot.version() == currentVersion) {
+            return snapshot.restaurantIds();
+        }
+
+        int minuteOfWeek = minuteOfWeek(minute);
+        Set<Long> open = current.entrySet().stream()
+                .filter(entry -> entry.getValue().minutes().get(minuteOfWeek))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        openSnapshot = new OpenSnapshot(minute, currentVersion, open);
+        return open;
+    }
+
+    public Optional<DailyHours> hoursOn(Long restaurantId, DayOfWeek dayOfWeek) {
+        Schedule schedule = schedules().get(restaurantId);
+        return schedule == null
+                ? Optional.empty()
+                : Optional.ofNullable(schedule.days().get(dayOfWeek));
+    }
+
+    // Ahead of RestaurantVersions, so views loaded under the bumped version see the new hours
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener
+    public void onTimingsChanged(RestaurantTimingsChangedEvent event) {
+        reload(event.restaurantId());
+    }
+
+    @TransactionalEventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        if (event.changeType() == ChangeType.DELETED) {
+            synchronized (this) {
+                if (schedules != null && schedules.remove(event.restaurantId()) != null) {
+                    version++;
+                }
+            }
+        }
+    }
+
+    private synchronized void reload(Long restaurantId) {
+        // Not loaded yet: the first load reads the committed timings anyway
+        if (schedules == null) return;
+
+        List<RestaurantTiming> timings = timingRepository.findByRestaurantId(restaurantId);
+        if (timings.isEmpty()) {
+            schedules.remove(restaurantId);
+        } else {
+            schedules.put(restaurantId, compile(timings));
+        }
+        version++;
+    }
+
+    private Map<Long, Schedule> schedules() {
+        Map<Long, Schedule> current = schedules;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (schedules == null) {
+                Map<Long, Schedule> loaded = new ConcurrentHashMap<>();
+                timingRepository.findAll().stream()
+                        .collect(Collectors.groupingBy(timing -> timing.getRestaurant().getId()))
+                        .forEach((restaurantId, timings) -> loaded.put(restaurantId, compile(timings)));
+                schedules = loaded;
+                version++;
+                logger.info("Opening hours loaded for {} restaurants", loaded.size());
+            }
+            return schedules;
+        }
+    }
+
+    private static Schedule compile(List<RestaurantTiming> timings) {
+        BitSet minutes = new BitSet(MINUTES_PER_WEEK);
+        Map<DayOfWeek, DailyHours> days = new EnumMap<>(DayOfWeek.class);
+
+        for (RestaurantTiming timing : timings) {
+            int dayStart = (timing.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY;
+            int open = minuteOfDay(timing.getOpenTime());
+            int close = minuteOfDay(timing.getCloseTime());
+
+            // The close minute itself is still open, matching the inclusive closeTime check
+            if (open <= close) {
+                minutes.set(dayStart + open, dayStart + close + 1);
+            } else {
+                // Overnight: open until midnight, then continue into the next day (Sunday wraps to Monday)
+                minutes.set(dayStart + open, dayStart + MINUTES_PER_DAY);
+                int nextDayStart = (dayStart + MINUTES_PER_DAY) % MINUTES_PER_WEEK;
+                minutes.set(nextDayStart, nextDayStart + close + 1);
+            }
+
+            days.put(timing.getDayOfWeek(),
+                    new DailyHours(timing.getDayOfWeek(), timing.getOpenTime(), timing.getCloseTime()));
+        }
+        return new Schedule(minutes, days);
+    }
+
+    private static int minuteOfWeek(LocalDateTime at) {
+        return (at.getDayOfWeek().getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(at.toLocalTime());
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record Schedule(BitSet minutes, Map<DayOfWeek, DailyHours> days) {
+    }
+
+    private record OpenSnapshot(LocalDateTime minute, long version, Set<Long> restaurantIds) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.foodorder.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Ordinals kept sorted by a primitive sort key, ties broken by ordinal. Walking the
+ * order and keeping the ordinals present in a candidate bitmap yields matches already
+ * sorted, so a sorted page stops after {@code offset + limit} matches instead of
+ * sorting every match.
+ */
+final class OrdinalOrder {
+
+    private long[] keys = new long[16];
+    private int[] ordinals = new int[16];
+    private int size;
+
+    void add(int ordinal, long key) {
+        int insertAt = position(key, ordinal);
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+        keys[insertAt] = key;
+        ordinals[insertAt] = ordinal;
+        size++;
+    }
+
+    /**
+     * Replaces the contents with the given pairs, sorted once; {@link #add} shifts the
+     * arrays per insert, which is quadratic when loading everything.
+     */
+    void build(int[] ordinals, long[] keys) {
+        long[] sortedKeys = Arrays.copyOf(keys, keys.length);
+        int[] sortedOrdinals = Arrays.copyOf(ordinals, ordinals.length);
+        OrdinalSort.sort(sortedKeys, sortedOrdinals);
+
+        int capacity = Math.max(sortedKeys.length, 16);
+        this.keys = Arrays.copyOf(sortedKeys, capacity);
+        this.ordinals = Arrays.copyOf(sortedOrdinals, capacity);
+        size = sortedKeys.length;
+    }
+
+    void remove(int ordinal, long key) {
+        int at = position(key, ordinal);
+        if (at < size && keys[at] == key && ordinals[at] == ordinal) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            size--;
+        }
+    }
+
+    /**
+     * Candidates in key order, skipping the first {@code offset} and returning at most
+     * {@code limit}.
+     */
+    int[] page(BitSet candidates, int offset, int limit) {
+        int[] page = new int[Math.min(limit, candidates.cardinality())];
+        int found = 0;
+        int position = 0;
+        for (int i = 0; i < size && found < page.length; i++) {
+            if (candidates.get(ordinals[i]) && position++ >= offset) {
+                page[found++] = ordinals[i];
+            }
+        }
+        return found == page.length ? page : Arrays.copyOf(page, found);
+    }
+
+    /** First position whose (key, ordinal) is not below the given pair. */
+    private int position(long key, int ordinal) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key || (keys[mid] == key && ordinals[mid] < ordinal)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,53 @@
+package com.demo.foodorder.index;
+
+/**
+ * Sorts a primitive key array together with its parallel ordinal array by
+ * (key, ordinal). Bulk loads of the sorted structures use it so a rebuild is one
+ * O(n log n) sort rather than n inserts that each shift the arrays.
+ */
+final class OrdinalSort {
+
+    private OrdinalSort() {
+    }
+
+    /**
+     * Sorts both arrays in place; they must have the same length.
+     */
+    static void sort(long[] keys, int[] ordinals) {
+        int n = keys.length;
+        long[] fromKeys = keys, toKeys = new long[n];
+        int[] fromOrdinals = ordinals, toOrdinals = new int[n];
+
+        // Bottom-up merge sort, alternating between the input and a scratch buffer
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n; low += 2 * width) {
+                int mid = Math.min(low + width, n);
+                int high = Math.min(low + 2 * width, n);
+                merge(fromKeys, fromOrdinals, toKeys, toOrdinals, low, mid, high);
+            }
+            long[] keySwap = fromKeys;
+            fromKeys = toKeys;
+            toKeys = keySwap;
+            int[] ordinalSwap = fromOrdinals;
+            fromOrdinals = toOrdinals;
+            toOrdinals = ordinalSwap;
+        }
+
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, n);
+            System.arraycopy(fromOrdinals, 0, ordinals, 0, n);
+        }
+    }
+
+    private static void merge(long[] keys, int[] ordinals, long[] toKeys, int[] toOrdinals,
+                              int low, int mid, int high) {
+        int left = low, right = mid;
+        for (int i = low; i < high; i++) {
+            boolean takeLeft = right >= high || (left < mid
+                    && (keys[left] < keys[right] || (keys[left] == keys[right] && ordinals[left] <= ordinals[right])));
+            int from = takeLeft ? left++ : right++;
+            toKeys[i] = keys[from];
+            toOrdinals[i] = ordinals[from];
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.demo.foodorder.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Menu item prices in minor units (cents), kept sorted in a primitive array with
+ * the owning ordinals alongside. A price range is two binary searches that yield a
+ * contiguous slice of ordinals, instead of a {@link BigDecimal} comparison per item.
+ */
+final class PriceIndex {
+
+    private long[] cents = new long[16];
+    private int[] ordinals = new int[16];
+    private int size;
+
+    /**
+     * Replaces the contents with the given items using a single sort. Rebuilds use
+     * this; {@link #add} shifts the arrays on every insert and is meant for single changes.
+     */
+    void build(int[] ordinals, BigDecimal[] prices) {
+        long[] values = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            values[i] = toCents(prices[i], RoundingMode.HALF_UP);
+        }
+        int[] sortedOrdinals = Arrays.copyOf(ordinals, ordinals.length);
+        OrdinalSort.sort(values, sortedOrdinals);
+
+        int capacity = Math.max(values.length, 16);
+        cents = Arrays.copyOf(values, capacity);
+        this.ordinals = Arrays.copyOf(sortedOrdinals, capacity);
+        size = values.length;
+    }
+
+    void add(int ordinal, BigDecimal price) {
+        long value = toCents(price, RoundingMode.HALF_UP);
+        int insertAt = upperBound(value);
+        if (size == cents.length) {
+            cents = Arrays.copyOf(cents, size * 2);
+            ordinals = Arrays.copyOf(ordinals, size * 2);
+        }
+        System.arraycopy(cents, insertAt, cents, insertAt + 1, size - insertAt);
+        System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+        cents[insertAt] = value;
+        ordinals[insertAt] = ordinal;
+        size++;
+    }
+
+    void remove(int ordinal, BigDecimal price) {
+        long value = toCents(price, RoundingMode.HALF_UP);
+        for (int i = lowerBound(value); i < size && cents[i] == value; i++) {
+            if (ordinals[i] == ordinal) {
+                System.arraycopy(cents, i + 1, cents, i, size - i - 1);
+                System.arraycopy(ordinals, i + 1, ordinals, i, size - i - 1);
+                size--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Ordinals priced within {@code [minPrice, maxPrice]}; a null bound is open.
+     */
+    BitSet range(BigDecimal minPrice, BigDecimal maxPrice) {
+        // Round the bounds inwards so a sub-cent bound still compares like the BigDecimal filter
+        int from = minPrice == null ? 0 : lowerBound(toCents(minPrice, RoundingMode.CEILING));
+        int to = maxPrice == null ? size : upperBound(toCents(maxPrice, RoundingMode.FLOOR));
+
+        BitSet matches = new BitSet();
+        for (int i = from; i < to; i++) {
+            matches.set(ordinals[i]);
+        }
+        return matches;
+    }
+
+    /** First position whose price is {@code >= value}. */
+    private int lowerBound(long value) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] < value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /** First position whose price is {@code > value}. */
+    private int upperBound(long value) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cents[mid] <= value) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal value = price.movePointRight(2).setScale(0, roundingMode);
+        if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) return Long.MAX_VALUE;
+        if (value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) return Long.MIN_VALUE;
+        return value.longValue();
+    }
+}
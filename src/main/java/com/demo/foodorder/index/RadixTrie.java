@@ -0,0 +1,159 @@
+package com.demo.foodorder.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compressed prefix tree (radix trie) whose nodes each cache the best {@code k}
+ * values stored at or below them. A completion is a walk down to the node
+ * covering the prefix followed by reading its cached list.
+ * <p>
+ * Cached lists are recomputed bottom-up along the modified path only, from the
+ * node's own values and its children's cached lists. Not thread-safe.
+ */
+final class RadixTrie<T> {
+
+    private final int k;
+    private final Comparator<T> ranking;
+    private final Node<T> root = new Node<>("");
+
+    RadixTrie(int k, Comparator<T> ranking) {
+        this.k = k;
+        this.ranking = ranking;
+    }
+
+    void add(String key, T value) {
+        if (key.isEmpty()) return;
+
+        List<Node<T>> path = new ArrayList<>();
+        path.add(root);
+        Node<T> node = root;
+        String rest = key;
+
+        while (true) {
+            Node<T> child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                Node<T> leaf = new Node<>(rest);
+                leaf.values.add(value);
+                node.children.put(rest.charAt(0), leaf);
+                path.add(leaf);
+                break;
+            }
+
+            int common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                // Split the edge: child keeps the tail of its label under a new intermediate node
+                Node<T> middle = new Node<>(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+
+            path.add(child);
+            rest = rest.substring(common);
+            if (rest.isEmpty()) {
+                child.values.add(value);
+                break;
+            }
+            node = child;
+        }
+        refresh(path);
+    }
+
+    void remove(String key, T value) {
+        if (key.isEmpty()) return;
+
+        List<Node<T>> path = new ArrayList<>();
+        path.add(root);
+        Node<T> node = root;
+        String rest = key;
+
+        while (!rest.isEmpty()) {
+            Node<T> child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.label)) return;
+            path.add(child);
+            rest = rest.substring(child.label.length());
+            node = child;
+        }
+        if (!node.values.remove(value)) return;
+
+        // Prune the emptied node and re-compress its parent where that leaves a pass-through node
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<T> current = path.get(i);
+            Node<T> parent = path.get(i - 1);
+            if (current.values.isEmpty() && current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+            } else if (current.values.isEmpty() && current.children.size() == 1) {
+                Node<T> only = current.children.values().iterator().next();
+                current.label = current.label + only.label;
+                current.children.clear();
+                current.children.putAll(only.children);
+                current.values.addAll(only.values);
+                current.top = only.top;
+            }
+        }
+        refresh(path);
+    }
+
+    void clear() {
+        root.children.clear();
+        root.values.clear();
+        root.top = List.of();
+    }
+
+    /**
+     * Best values whose key starts with {@code prefix}, highest ranked first.
+     */
+    List<T> top(String prefix) {
+        Node<T> node = root;
+        String rest = prefix;
+
+        while (!rest.isEmpty()) {
+            Node<T> child = node.children.get(rest.charAt(0));
+            if (child == null) return List.of();
+            if (rest.startsWith(child.label)) {
+                rest = rest.substring(child.label.length());
+                node = child;
+            } else {
+                // The prefix ends inside this edge: everything below the child matches
+                return child.label.startsWith(rest) ? child.top : List.of();
+            }
+        }
+        return node.top;
+    }
+
+    private void refresh(List<Node<T>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<T> node = path.get(i);
+            List<T> candidates = new ArrayList<>(node.values);
+            node.children.values().forEach(child -> candidates.addAll(child.top));
+            node.top = candidates.stream()
+                    .distinct()
+                    .sorted(ranking)
+                    .limit(k)
+                    .toList();
+        }
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    private static final class Node<T> {
+        private final Map<Character, Node<T>> children = new HashMap<>(4);
+        private final List<T> values = new ArrayList<>(1);
+        private String label;
+        private List<T> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.demo.foodorder.index;
+
+public record RestaurantDistance(Long restaurantId, double distanceKm) {
+}
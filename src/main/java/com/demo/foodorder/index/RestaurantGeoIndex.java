@@ -0,0 +1,304 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Locations of active restaurants bucketed into a uniform latitude/longitude grid.
+ * A radius query only measures restaurants in the grid cells overlapping the
+ * circle's bounding box instead of every restaurant; a nearest-k query walks the
+ * grid outwards ring by ring and stops once no unvisited cell can hold anything
+ * closer than the k found so far.
+ * <p>
+ * Coordinates live in a {@link GeoPointStore}, so measuring a candidate is a few
+ * multiplications on primitive arrays, and searches too wide for the grid scan the
+ * whole store in one tight loop.
+ * <p>
+ * Locations are loaded once the application is ready, or on first use if that is
+ * earlier, and updated from restaurant change events.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantGeoIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantGeoIndex.class);
+
+    // About 5.5 km of latitude, so a typical delivery radius covers a handful of cells
+    private static final double CELL_DEGREES = 0.05;
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final RestaurantRepository restaurantRepository;
+
+    // Serializes the writers, which read the database before taking the write lock
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final GeoPointStore points = new GeoPointStore();
+    private final Map<Long, Long> cellKeys = new HashMap<>();
+    private final Map<Long, List<Long>> cells = new HashMap<>();
+    private volatile boolean loaded;
+    private volatile long version;
+
+    /**
+     * Incremented whenever a location is added, moved or removed; results derived
+     * from distances can be keyed on it.
+     */
+    public long version() {
+        load();
+        return version;
+    }
+
+    /**
+     * Active restaurants within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<RestaurantDistance> within(double lat, double lng, double radiusKm) {
+        load();
+
+        lock.readLock().lock();
+        try {
+            GeoPointStore.UnitVector point = GeoPointStore.UnitVector.of(lat, lng);
+            List<RestaurantDistance> matches = new ArrayList<>();
+            List<Long> candidates = candidates(lat, lng, radiusKm);
+            if (candidates == null) {
+                points.within(point, radiusKm, matches);
+            } else {
+                for (Long restaurantId : candidates) {
+                    double distance = points.distanceKm(restaurantId, point);
+                    if (distance <= radiusKm) {
+                        matches.add(new RestaurantDistance(restaurantId, distance));
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingDouble(RestaurantDistance::distanceKm)
+                    .thenComparing(RestaurantDistance::restaurantId));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code k} restaurants accepted by {@code filter} closest to the given
+     * point, nearest first.
+     */
+    public List<RestaurantDistance> nearest(double lat, double lng, int k, Predicate<Long> filter) {
+        load();
+
+        // Max-heap on distance holding the best k so far; the root is the one to beat
+        Comparator<RestaurantDistance> byDistance = Comparator.comparingDouble(RestaurantDistance::distanceKm)
+                .thenComparing(RestaurantDistance::restaurantId);
+        PriorityQueue<RestaurantDistance> best = new PriorityQueue<>(k + 1, byDistance.reversed());
+
+        lock.readLock().lock();
+        try {
+            GeoPointStore.UnitVector point = GeoPointStore.UnitVector.of(lat, lng);
+            int centerLat = cell(lat), centerLng = cell(lng);
+            long visitedCells = 0;
+            for (int ring = 0; ; ring++) {
+                if (best.size() == k && minDistanceToRing(lat, ring) > best.peek().distanceKm()) {
+                    break;
+                }
+                if (2L * ring + 1 >= LNG_CELLS || visitedCells > points.size()) {
+                    // Sparse data or a ring wider than the globe: scanning everything is cheaper
+                    best.clear();
+                    points.forEachId(id -> offer(best, k, id, point, filter));
+                    break;
+                }
+                visitedCells += visitRing(centerLat, centerLng, ring,
+                        id -> offer(best, k, id, point, filter));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<RestaurantDistance> nearest = new ArrayList<>(best);
+        nearest.sort(byDistance);
+        return nearest;
+    }
+
+    /**
+     * Re-reads the changed restaurant and applies it. Listeners take turns on the
+     * update lock, so the later of two commits reads after both and is applied last,
+     * while searches only wait for the apply.
+     */
+    @TransactionalEventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        updateLock.lock();
+        try {
+            // Not loaded yet: the load reads the locations after this change committed
+            if (!loaded) return;
+
+            Optional<Restaurant> restaurant = event.changeType() == ChangeType.DELETED
+                    ? Optional.empty()
+                    : restaurantRepository.findByIdAndActiveTrue(event.restaurantId());
+
+            lock.writeLock().lock();
+            try {
+                remove(event.restaurantId());
+                restaurant.ifPresent(this::put);
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Restaurants in the cells overlapping the bounding box of the circle, or
+     * {@code null} when the box covers more cells than there are restaurants and a
+     * full scan is cheaper.
+     */
+    private List<Long> candidates(double lat, double lng, double radiusKm) {
+        double latDelta = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double minLat = Math.max(lat - latDelta, -90);
+        double maxLat = Math.min(lat + latDelta, 90);
+
+        // A degree of longitude shrinks towards the poles; use the widest latitude in the box
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lngDelta = widestCos <= 0 ? 180 : radiusKm / (GeoUtils.KM_PER_DEGREE * widestCos);
+
+        int fromLat = cell(minLat), toLat = cell(maxLat);
+        int fromLng = cell(lng - lngDelta), toLng = cell(lng + lngDelta);
+        if (toLng - fromLng + 1 >= LNG_CELLS) {
+            fromLng = 0;
+            toLng = LNG_CELLS - 1;
+        }
+
+        long cellCount = (long) (toLat - fromLat + 1) * (toLng - fromLng + 1);
+        if (cellCount > points.size()) {
+            return null;
+        }
+
+        List<Long> candidates = new ArrayList<>();
+        for (int latCell = fromLat; latCell <= toLat; latCell++) {
+            for (int lngCell = fromLng; lngCell <= toLng; lngCell++) {
+                List<Long> members = cells.get(cellKey(latCell, lngCell));
+                if (members != null) {
+                    candidates.addAll(members);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Calls {@code visitor} for every restaurant in the cells at Chebyshev distance
+     * {@code ring} from the center cell, returning the number of cells visited.
+     */
+    private int visitRing(int centerLat, int centerLng, int ring, Consumer<Long> visitor) {
+        int visited = 0;
+        for (int latCell = centerLat - ring; latCell <= centerLat + ring; latCell++) {
+            boolean edgeRow = latCell == centerLat - ring || latCell == centerLat + ring;
+            int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+            for (int lngCell = centerLng - ring; lngCell <= centerLng + ring; lngCell += step) {
+                visited++;
+                List<Long> members = cells.get(cellKey(latCell, lngCell));
+                if (members != null) {
+                    members.forEach(visitor);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Lower bound on the distance from a point to any cell of {@code ring}: at least
+     * {@code ring - 1} whole cells lie in between, measured at the narrowest
+     * longitude spacing those cells can have.
+     */
+    private static double minDistanceToRing(double lat, int ring) {
+        if (ring <= 1) return 0;
+        double widestLat = Math.min(90, Math.abs(lat) + ring * CELL_DEGREES);
+        double cellKm = CELL_DEGREES * GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(widestLat));
+        return Math.max(0, (ring - 1) * cellKm);
+    }
+
+    private void offer(PriorityQueue<RestaurantDistance> best, int k, Long restaurantId,
+                       GeoPointStore.UnitVector point, Predicate<Long> filter) {
+        if (!filter.test(restaurantId)) return;
+
+        RestaurantDistance candidate = new RestaurantDistance(
+                restaurantId, points.distanceKm(restaurantId, point));
+        if (best.size() < k) {
+            best.add(candidate);
+        } else if (best.comparator().compare(candidate, best.peek()) > 0) {
+            best.poll();
+            best.add(candidate);
+        }
+    }
+
+    /**
+     * Loads every active location unless already loaded. The locations are read under
+     * the update lock, so a change committed after the read waits in
+     * {@link #onRestaurantChanged} until the load is done and is then applied on top.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (loaded) return;
+
+        updateLock.lock();
+        try {
+            if (loaded) return;
+            List<Restaurant> restaurants = restaurantRepository.findByActiveTrue();
+
+            lock.writeLock().lock();
+            try {
+                restaurants.forEach(this::put);
+                loaded = true;
+                logger.info("Restaurant geo index built with {} locations", points.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void put(Restaurant restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) return;
+
+        long key = cellKey(cell(restaurant.getLatitude()), cell(restaurant.getLongitude()));
+        points.put(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude());
+        cellKeys.put(restaurant.getId(), key);
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(restaurant.getId());
+    }
+
+    private void remove(Long restaurantId) {
+        Long key = cellKeys.remove(restaurantId);
+        if (key == null) return;
+
+        points.remove(restaurantId);
+        List<Long> members = cells.get(key);
+        members.remove(restaurantId);
+        if (members.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    private static int cell(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        // Longitude wraps around the antimeridian
+        int wrapped = Math.floorMod(lngCell + LNG_CELLS / 2, LNG_CELLS) - LNG_CELLS / 2;
+        return ((long) latCell << 32) | (wrapped & 0xffffffffL);
+    }
+}
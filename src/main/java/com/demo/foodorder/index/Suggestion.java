@@ -0,0 +1,16 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.enums.SuggestionType;
+
+/**
+ * A typeahead completion. {@code restaurantId} and {@code restaurantName} refer to the
+ * owning restaurant for menu items and to the restaurant itself for restaurants.
+ */
+public record Suggestion(
+        SuggestionType type,
+        Long id,
+        String name,
+        Long restaurantId,
+        String restaurantName,
+        long popularity) {
+}
@@ -0,0 +1,264 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.SuggestionType;
+import com.demo.foodorder.event.MenuItemIndexChangedEvent;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead over menu item and restaurant names, ranked by order popularity.
+ * Every word start of a name is a key, so "tik" completes "Chicken Tikka".
+ * <p>
+ * Follows the menu item search index for item changes and restaurant change
+ * events for restaurants. Popularity moves slowly, so it is only re-read on a
+ * periodic full rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+public class TypeaheadIndex {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadIndex.class);
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::name)
+            .thenComparing(Suggestion::type)
+            .thenComparing(Suggestion::id);
+
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemSearchIndex menuItemSearchIndex;
+
+    // Serializes restaurant updates, which read the database before taking the write lock
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Suggestions suggestions = new Suggestions(Map.of());
+    // Changes applied while a rebuild is running, replayed onto its result before the swap
+    private Set<Long> pendingItemIds;
+    private Map<Long, Optional<Restaurant>> pendingRestaurants;
+
+    /**
+     * Up to {@code limit} completions for {@code prefix}, most popular first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = NGramIndex.normalize(prefix).strip();
+        if (key.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<Suggestion> top = suggestions.trie.top(key);
+            return top.size() <= limit ? top : top.subList(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reloads every suggestion. Items come from the menu item search index, the same
+     * source as incremental updates. The new trie is built without holding the lock,
+     * so completions keep being served from the old one; changes applied meanwhile
+     * are recorded and replayed onto the new trie before it is swapped in.
+     */
+    @Scheduled(
+            initialDelayString = "${app.search.suggest.refresh-ms}",
+            fixedDelayString = "${app.search.suggest.refresh-ms}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            record(new HashSet<>(), new HashMap<>());
+            try {
+                Map<Long, Long> popularity = menuItemRepository.findMenuItemsWithOrderCount().stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+                List<MenuItemDocument> items = menuItemSearchIndex.documents();
+                List<Restaurant> restaurants = restaurantRepository.findByActiveTrue();
+
+                Suggestions next = new Suggestions(popularity);
+                items.forEach(next::putItem);
+                restaurants.forEach(next::putRestaurant);
+
+                lock.writeLock().lock();
+                try {
+                    pendingItemIds.forEach(itemId -> applyItem(next, itemId));
+                    pendingRestaurants.forEach((restaurantId, restaurant) ->
+                            applyRestaurant(next, restaurantId, restaurant));
+                    suggestions = next;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                logger.info("Typeahead index built with {} items and {} restaurants", items.size(), restaurants.size());
+            } finally {
+                record(null, null);
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onMenuItemIndexChanged(MenuItemIndexChangedEvent event) {
+        if (event.rebuilt()) {
+            rebuild();
+            return;
+        }
+
+        Set<Long> itemIds = event.affected().stream()
+                .map(MenuItemDocument::id)
+                .collect(Collectors.toSet());
+
+        lock.writeLock().lock();
+        try {
+            itemIds.forEach(itemId -> applyItem(suggestions, itemId));
+            if (pendingItemIds != null) {
+                pendingItemIds.addAll(itemIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-reads the changed restaurant and applies it. Listeners take turns on the
+     * update lock, so the later of two commits reads after both and is applied last,
+     * while completions only wait for the apply.
+     */
+    @TransactionalEventListener
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        updateLock.lock();
+        try {
+            Optional<Restaurant> restaurant = restaurantRepository.findByIdAndActiveTrue(event.restaurantId());
+
+            lock.writeLock().lock();
+            try {
+                applyRestaurant(suggestions, event.restaurantId(), restaurant);
+                if (pendingRestaurants != null) {
+                    pendingRestaurants.put(event.restaurantId(), restaurant);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private void record(Set<Long> itemIds, Map<Long, Optional<Restaurant>> restaurants) {
+        lock.writeLock().lock();
+        try {
+            pendingItemIds = itemIds;
+            pendingRestaurants = restaurants;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyItem(Suggestions target, Long itemId) {
+        Optional<MenuItemDocument> current = menuItemSearchIndex.findById(itemId);
+        if (current.isPresent()) {
+            target.putItem(current.get());
+        } else {
+            target.removeItem(itemId);
+        }
+    }
+
+    private static void applyRestaurant(Suggestions target, Long restaurantId, Optional<Restaurant> restaurant) {
+        if (restaurant.isPresent()) {
+            target.putRestaurant(restaurant.get());
+        } else {
+            target.removeRestaurant(restaurantId);
+        }
+    }
+
+    /**
+     * The normalized name from each word start onwards.
+     */
+    private static Set<String> keys(String name) {
+        String normalized = NGramIndex.normalize(name).strip();
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = !Character.isWhitespace(normalized.charAt(i))
+                    && (i == 0 || Character.isWhitespace(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * A trie with the suggestions it holds, swapped as a whole on rebuild.
+     */
+    private static final class Suggestions {
+
+        private final RadixTrie<Suggestion> trie = new RadixTrie<>(MAX_SUGGESTIONS, RANKING);
+        private final Map<Long, Suggestion> itemSuggestions = new HashMap<>();
+        private final Map<Long, Suggestion> restaurantSuggestions = new HashMap<>();
+        // Sum of the indexed items' popularity per restaurant, kept in step with itemSuggestions
+        private final Map<Long, Long> restaurantPopularity = new HashMap<>();
+        private final Map<Long, Long> itemPopularity;
+
+        Suggestions(Map<Long, Long> itemPopularity) {
+            this.itemPopularity = itemPopularity;
+        }
+
+        void putItem(MenuItemDocument doc) {
+            removeItem(doc.id());
+            Suggestion suggestion = new Suggestion(
+                    SuggestionType.MENU_ITEM, doc.id(), doc.name(),
+                    doc.restaurantId(), doc.restaurantName(),
+                    itemPopularity.getOrDefault(doc.id(), 0L)
+            );
+            itemSuggestions.put(doc.id(), suggestion);
+            restaurantPopularity.merge(doc.restaurantId(), suggestion.popularity(), Long::sum);
+            add(suggestion);
+        }
+
+        void removeItem(Long itemId) {
+            Suggestion removed = itemSuggestions.remove(itemId);
+            if (removed == null) return;
+            restaurantPopularity.merge(removed.restaurantId(), -removed.popularity(), Long::sum);
+            remove(removed);
+        }
+
+        void putRestaurant(Restaurant restaurant) {
+            removeRestaurant(restaurant.getId());
+            // A restaurant is as popular as its menu, based on the item counts of the last rebuild
+            long popularity = restaurantPopularity.getOrDefault(restaurant.getId(), 0L);
+            Suggestion suggestion = new Suggestion(
+                    SuggestionType.RESTAURANT, restaurant.getId(), restaurant.getName(),
+                    restaurant.getId(), restaurant.getName(),
+                    popularity
+            );
+            restaurantSuggestions.put(restaurant.getId(), suggestion);
+            add(suggestion);
+        }
+
+        void removeRestaurant(Long restaurantId) {
+            remove(restaurantSuggestions.remove(restaurantId));
+        }
+
+        private void add(Suggestion suggestion) {
+            keys(suggestion.name()).forEach(key -> trie.add(key, suggestion));
+        }
+
+        private void remove(Suggestion suggestion) {
+            if (suggestion == null) return;
+            keys(suggestion.name()).forEach(key -> trie.remove(key, suggestion));
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.demo.foodorder.mapper;
 
+import com.demo.foodorder.dto.response.FoodSearchFacetsResponse;
 import com.demo.foodorder.dto.response.FoodSearchResponse;
 import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.index.MenuItemDocument;
+import com.demo.foodorder.index.MenuItemFacets;
+import com.demo.foodorder.util.GeoUtils;
+
+import java.util.Map;
 
 public class FoodSearchMapper {
 
@@ -20,4 +26,42 @@ public class FoodSearchMapper {
                 .restaurantName(item.getRestaurant().getName())
                 .build();
     }
+
+    /**
+     * {@code response} with the distance of its restaurant, rounded to metres;
+     * unchanged when the search had no location.
+     */
+    public static FoodSearchResponse withDistance(FoodSearchResponse response, Map<Long, Double> distances) {
+        if (distances == null) return response;
+        Double distanceKm = distances.get(response.getRestaurantId());
+        return response.toBuilder()
+                .distanceKm(distanceKm == null ? null : GeoUtils.roundKm(distanceKm))
+                .build();
+    }
+
+    public static FoodSearchResponse toResponse(MenuItemDocument doc) {
+        return FoodSearchResponse.builder()
+                .menuItemId(doc.id())
+                .menuItemName(doc.name())
+                .description(doc.description())
+                .category(doc.category())
+                .cuisine(doc.cuisine())
+                .price(doc.price())
+                .vegetarian(doc.vegetarian())
+                .vegan(doc.vegan())
+                .glutenFree(doc.glutenFree())
+                .restaurantId(doc.restaurantId())
+                .restaurantName(doc.restaurantName())
+                .build();
+    }
+
+    public static FoodSearchFacetsResponse toResponse(MenuItemFacets facets) {
+        return FoodSearchFacetsResponse.builder()
+                .categories(facets.categories())
+                .cuisines(facets.cuisines())
+                .vegetarian(facets.vegetarian())
+                .vegan(facets.vegan())
+                .glutenFree(facets.glutenFree())
+                .build();
+    }
 }
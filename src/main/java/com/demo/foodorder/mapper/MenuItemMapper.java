@@ -8,6 +8,7 @@ public class MenuItemMapper {
     public static MenuItemResponse toResponse(MenuItem m) {
         return MenuItemResponse.builder()
                 .id(m.getId())
+                .restaurantId(m.getRestaurant().getId())
                 .name(m.getName())
                 .description(m.getDescription())
                 .foodCategory(m.getFoodCategory())
@@ -4,20 +4,32 @@ import com.demo.foodorder.dto.response.OrderItemResponse;
 import com.demo.foodorder.dto.response.OrderResponse;
 import com.demo.foodorder.entity.Order;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.demo.foodorder.util.SparseFieldsets.includes;
+
 public class OrderMapper {
 
     public static OrderResponse toResponse(Order order) {
+        return toResponse(order, null);
+    }
+
+    /**
+     * Maps only the requested {@code fields} (all when null). The restaurant name,
+     * consumer and items are lazy associations, so leaving them out also skips
+     * their queries.
+     */
+    public static OrderResponse toResponse(Order order, Set<String> fields) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .restaurantId(order.getRestaurant().getId())
-                .restaurantName(order.getRestaurant().getName())
-                .consumerUsername(order.getConsumer().getUsername())
+                .restaurantName(includes(fields, "restaurantName") ? order.getRestaurant().getName() : null)
+                .consumerUsername(includes(fields, "consumerUsername") ? order.getConsumer().getUsername() : null)
                 .status(order.getStatus())
                 .totalAmount(order.getTotalAmount())
                 .placedAt(order.getPlacedAt())
-                .items(order.getItems().stream()
+                .items(!includes(fields, "items") ? null : order.getItems().stream()
                         .map(oi -> OrderItemResponse.builder()
                                 .menuItemId(oi.getMenuItem().getId())
                                 .menuItemName(oi.getMenuItem().getName())
@@ -2,7 +2,8 @@ package com.demo.foodorder.mapper;
 
 import com.demo.foodorder.dto.response.RestaurantResponse;
 import com.demo.foodorder.entity.Restaurant;
-import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.index.DailyHours;
+import com.demo.foodorder.util.GeoUtils;
 
 public class RestaurantMapper {
 
@@ -10,10 +11,16 @@ public class RestaurantMapper {
         return baseResponseBuilder(r).build();
     }
 
-    public static RestaurantResponse toResponse(Restaurant r, RestaurantTiming restaurantTiming, Boolean openNow) {
+    public static RestaurantResponse toResponse(Restaurant r, DailyHours todaysHours, Boolean openNow) {
         return baseResponseBuilder(r)
                 .openNow(openNow)
-                .timingResponse(RestaurantTimingMapper.toResponse(restaurantTiming))
+                .timingResponse(RestaurantTimingMapper.toResponse(todaysHours))
+                .build();
+    }
+
+    public static RestaurantResponse withDistance(RestaurantResponse response, double distanceKm) {
+        return response.toBuilder()
+                .distanceKm(GeoUtils.roundKm(distanceKm))
                 .build();
     }
 
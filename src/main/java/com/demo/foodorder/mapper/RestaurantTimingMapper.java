@@ -2,6 +2,7 @@ package com.demo.foodorder.mapper;
 
 import com.demo.foodorder.dto.response.TimingResponse;
 import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.index.DailyHours;
 
 public class RestaurantTimingMapper {
 
@@ -13,4 +14,13 @@ public class RestaurantTimingMapper {
                 .closeTime(timing.getCloseTime())
                 .build();
     }
+
+    public static TimingResponse toResponse(DailyHours hours) {
+        if (hours == null) return null;
+        return TimingResponse.builder()
+                .dayOfWeek(hours.dayOfWeek())
+                .openTime(hours.openTime())
+                .closeTime(hours.closeTime())
+                .build();
+    }
 }
@@ -0,0 +1,17 @@
+package com.demo.foodorder.mapper;
+
+import com.demo.foodorder.dto.response.SuggestionResponse;
+import com.demo.foodorder.index.Suggestion;
+
+public class SuggestionMapper {
+
+    public static SuggestionResponse toResponse(Suggestion suggestion) {
+        return SuggestionResponse.builder()
+                .type(suggestion.type())
+                .id(suggestion.id())
+                .name(suggestion.name())
+                .restaurantId(suggestion.restaurantId())
+                .restaurantName(suggestion.restaurantName())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.entity.CatalogChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    @Query("SELECT c FROM CatalogChange c WHERE c.id > :since ORDER BY c.id")
+    List<CatalogChange> findAfter(@Param("since") long since, Pageable limit);
+
+    @Query("SELECT MIN(c.id) FROM CatalogChange c")
+    Long findEarliestId();
+
+    @Query("SELECT MAX(c.id) FROM CatalogChange c")
+    Long findLatestId();
+
+    @Query("SELECT MAX(c.id) FROM CatalogChange c WHERE c.changedAt < :before")
+    Long findLatestIdBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.id <= :id")
+    int deleteThrough(@Param("id") long id);
+}
@@ -0,0 +1,20 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.entity.CatalogSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CatalogSequenceRepository extends JpaRepository<CatalogSequence, Long> {
+
+    /**
+     * Advances the counter, holding its row lock until the calling transaction ends.
+     */
+    @Modifying
+    @Query("UPDATE CatalogSequence s SET s.lastSequence = s.lastSequence + 1 WHERE s.id = "
+            + CatalogSequence.ID)
+    int increment();
+
+    @Query("SELECT s.lastSequence FROM CatalogSequence s WHERE s.id = " + CatalogSequence.ID)
+    long current();
+}
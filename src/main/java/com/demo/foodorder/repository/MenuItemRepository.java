@@ -1,23 +1,20 @@
 package com.demo.foodorder.repository;
 
 import com.demo.foodorder.entity.MenuItem;
-import com.demo.foodorder.enums.CuisineType;
-import com.demo.foodorder.enums.FoodCategory;
 import jakarta.validation.constraints.NotBlank;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface MenuItemRepository
         extends JpaRepository<MenuItem, Long>,
-        JpaSpecificationExecutor<MenuItem> {
+        JpaSpecificationExecutor<MenuItem>,
+        MenuItemSearchRepository {
 
     @Query("""
                 SELECT m FROM MenuItem m
@@ -36,6 +33,41 @@ public interface MenuItemRepository
             """)
     List<MenuItem> findByAvailableTrueAndRestaurantActiveTrue();
 
+    @Query("""
+                SELECT m FROM MenuItem m
+                JOIN FETCH m.restaurant r
+                WHERE r.active = true
+                  AND m.available = true
+                ORDER BY m.id
+            """)
+    List<MenuItem> findAllSearchable();
+
+    @Query("""
+                SELECT m FROM MenuItem m
+                JOIN FETCH m.restaurant r
+                WHERE r.id = :restaurantId
+                  AND r.active = true
+                  AND m.available = true
+                ORDER BY m.id
+            """)
+    List<MenuItem> findSearchableByRestaurantId(@Param("restaurantId") Long restaurantId);
+
+    @Query("""
+                SELECT m FROM MenuItem m
+                JOIN FETCH m.restaurant r
+                WHERE m.id = :itemId
+                  AND r.active = true
+                  AND m.available = true
+            """)
+    Optional<MenuItem> findSearchableById(@Param("itemId") Long itemId);
+
+    @Query("""
+                SELECT m FROM MenuItem m
+                JOIN FETCH m.restaurant
+                WHERE m.id IN :ids
+            """)
+    List<MenuItem> findWithRestaurantByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("""
                 SELECT m.id, COUNT(oi.id) 
                 FROM MenuItem m
@@ -69,60 +101,4 @@ public interface MenuItemRepository
             Long restaurantId,
             @NotBlank String name
     );
-
-    @Query("""
-                SELECT m FROM MenuItem m
-                JOIN m.restaurant r
-                WHERE r.active = true
-                  AND m.available = true
-                  AND (:q IS NULL OR LOWER(m.name) LIKE LOWER(CONCAT('%', :q, '%')))
-                  AND (:category IS NULL OR m.foodCategory = :category)
-                  AND (:cuisine IS NULL OR m.cuisineType = :cuisine)
-                  AND (:vegetarian IS NULL OR m.vegetarian = :vegetarian)
-                  AND (:vegan IS NULL OR m.vegan = :vegan)
-                  AND (:glutenFree IS NULL OR m.glutenFree = :glutenFree)
-                  AND (:minPrice IS NULL OR m.price >= :minPrice)
-                  AND (:maxPrice IS NULL OR m.price <= :maxPrice)
-            """)
-    Page<MenuItem> searchFoods(
-            @Param("q") String q,
-            @Param("category") FoodCategory category,
-            @Param("cuisine") CuisineType cuisine,
-            @Param("vegetarian") Boolean vegetarian,
-            @Param("vegan") Boolean vegan,
-            @Param("glutenFree") Boolean glutenFree,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            Pageable pageable
-    );
-
-    @Query("""
-                SELECT m FROM MenuItem m
-                JOIN m.restaurant r
-                LEFT JOIN RestaurantTiming rt ON rt.restaurant.id = r.id AND rt.dayOfWeek = :dayOfWeek
-                WHERE r.active = true
-                  AND m.available = true
-                  AND (:q IS NULL OR LOWER(m.name) LIKE LOWER(CONCAT('%', :q, '%')))
-                  AND (:category IS NULL OR m.foodCategory = :category)
-                  AND (:cuisine IS NULL OR m.cuisineType = :cuisine)
-                  AND (:vegetarian IS NULL OR m.vegetarian = :vegetarian)
-                  AND (:vegan IS NULL OR m.vegan = :vegan)
-                  AND (:glutenFree IS NULL OR m.glutenFree = :glutenFree)
-                  AND (:minPrice IS NULL OR m.price >= :minPrice)
-                  AND (:maxPrice IS NULL OR m.price <= :maxPrice)
-                  AND (rt IS NOT NULL AND :currentTime >= rt.openTime AND :currentTime <= rt.closeTime)
-            """)
-    Page<MenuItem> searchFoodsWithOpenNow(
-            @Param("q") String q,
-            @Param("category") FoodCategory category,
-            @Param("cuisine") CuisineType cuisine,
-            @Param("vegetarian") Boolean vegetarian,
-            @Param("vegan") Boolean vegan,
-            @Param("glutenFree") Boolean glutenFree,
-            @Param("minPrice") BigDecimal minPrice,
-            @Param("maxPrice") BigDecimal maxPrice,
-            @Param("dayOfWeek") java.time.DayOfWeek dayOfWeek,
-            @Param("currentTime") java.time.LocalTime currentTime,
-            Pageable pageable
-    );
 }
@@ -0,0 +1,25 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.dto.response.FoodSearchResponse;
+import com.demo.foodorder.entity.MenuItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface MenuItemSearchRepository {
+
+    /**
+     * Menu items matching {@code spec}, projected straight into {@link FoodSearchResponse}.
+     * Reads one row past the page to fill {@link Slice#hasNext()} without a count.
+     */
+    Slice<FoodSearchResponse> searchFoods(Specification<MenuItem> spec, Pageable pageable);
+
+    /**
+     * Every menu item matching {@code spec} in id order, read forward-only from a
+     * cursor in batches of {@code fetchSize}. Must be consumed and closed inside a
+     * transaction.
+     */
+    Stream<FoodSearchResponse> streamFoods(Specification<MenuItem> spec, int fetchSize);
+}
@@ -0,0 +1,74 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.dto.response.FoodSearchResponse;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class MenuItemSearchRepositoryImpl implements MenuItemSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<FoodSearchResponse> searchFoods(Specification<MenuItem> spec, Pageable pageable) {
+        TypedQuery<FoodSearchResponse> typedQuery = entityManager.createQuery(projection(spec, pageable.getSort()));
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<FoodSearchResponse> rows = typedQuery.getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<FoodSearchResponse> streamFoods(Specification<MenuItem> spec, int fetchSize) {
+        return entityManager.createQuery(projection(spec, Sort.by("id")))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<FoodSearchResponse> projection(Specification<MenuItem> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FoodSearchResponse> query = cb.createQuery(FoodSearchResponse.class);
+        Root<MenuItem> m = query.from(MenuItem.class);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(m, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Join<MenuItem, Restaurant> r = MenuItemSpecifications.restaurant(m);
+        query.select(cb.construct(
+                FoodSearchResponse.class,
+                r.get("id"), r.get("name"), m.get("id"), m.get("name"), m.get("description"), m.get("price"),
+                m.get("foodCategory"), m.get("cuisineType"), m.get("vegetarian"), m.get("vegan"), m.get("glutenFree")
+        ));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, m, cb));
+        }
+        return query;
+    }
+}
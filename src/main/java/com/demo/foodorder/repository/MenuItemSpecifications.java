@@ -0,0 +1,121 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.dto.request.FoodSearchRequest;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Search predicates over {@link MenuItem}. {@link #forSearch} adds a predicate only for
+ * the filters actually supplied, so each filter combination gets its own small statement
+ * instead of one catch-all query full of {@code :param IS NULL OR ...} branches.
+ */
+public class MenuItemSpecifications {
+
+    public static Specification<MenuItem> forSearch(
+            FoodSearchRequest request,
+            Collection<Long> openRestaurantIds) {
+
+        return Specification.where(searchable())
+                .and(nameContains(request.getQuery()))
+                .and(hasCategory(request.getFoodCategory()))
+                .and(hasCuisine(request.getCuisineType()))
+                .and(isVegetarian(request.getVegetarian()))
+                .and(isVegan(request.getVegan()))
+                .and(isGlutenFree(request.getGlutenFree()))
+                .and(priceAtLeast(request.getMinPrice()))
+                .and(priceAtMost(request.getMaxPrice()))
+                .and(restaurantIn(openRestaurantIds));
+    }
+
+    public static Specification<MenuItem> searchable() {
+        return (root, query, cb) -> cb.and(
+                cb.isTrue(restaurant(root).get("active")),
+                cb.isTrue(root.get("available"))
+        );
+    }
+
+    public static Specification<MenuItem> nameContains(String q) {
+        if (q == null) return null;
+        String pattern = "%" + q.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    public static Specification<MenuItem> hasCategory(FoodCategory category) {
+        if (category == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("foodCategory"), category);
+    }
+
+    public static Specification<MenuItem> hasCuisine(CuisineType cuisine) {
+        if (cuisine == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("cuisineType"), cuisine);
+    }
+
+    public static Specification<MenuItem> isVegetarian(Boolean vegetarian) {
+        if (vegetarian == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("vegetarian"), vegetarian);
+    }
+
+    public static Specification<MenuItem> isVegan(Boolean vegan) {
+        if (vegan == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("vegan"), vegan);
+    }
+
+    public static Specification<MenuItem> isGlutenFree(Boolean glutenFree) {
+        if (glutenFree == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("glutenFree"), glutenFree);
+    }
+
+    public static Specification<MenuItem> priceAtLeast(BigDecimal minPrice) {
+        if (minPrice == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<MenuItem> priceAtMost(BigDecimal maxPrice) {
+        if (maxPrice == null) return null;
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    /**
+     * Keyset predicate for paging in (price, id) order: rows strictly after the given
+     * key. Null {@code afterPrice} means the first page.
+     */
+    public static Specification<MenuItem> priceIdAfter(BigDecimal afterPrice, Long afterId) {
+        if (afterPrice == null) return null;
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("price"), afterPrice),
+                cb.and(cb.equal(root.get("price"), afterPrice), cb.greaterThan(root.get("id"), afterId))
+        );
+    }
+
+    /**
+     * Restricts to the given restaurants; null means no restriction, an empty collection
+     * matches nothing.
+     */
+    public static Specification<MenuItem> restaurantIn(Collection<Long> restaurantIds) {
+        if (restaurantIds == null) return null;
+        return (root, query, cb) -> restaurant(root).get("id").in(restaurantIds);
+    }
+
+    /**
+     * The restaurant join of {@code root}, reusing an existing one so every predicate and
+     * the projection share a single join.
+     */
+    @SuppressWarnings("unchecked")
+    static Join<MenuItem, Restaurant> restaurant(Root<MenuItem> root) {
+        for (Join<MenuItem, ?> join : root.getJoins()) {
+            if ("restaurant".equals(join.getAttribute().getName())) {
+                return (Join<MenuItem, Restaurant>) join;
+            }
+        }
+        return root.join("restaurant");
+    }
+}
@@ -1,8 +1,13 @@
 package com.demo.foodorder.repository;
 
 import com.demo.foodorder.entity.Restaurant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +17,20 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     Optional<Restaurant> findByIdAndActiveTrue(Long id);
 
+    /**
+     * A page of active restaurants after the given id in id order, with their owners
+     * fetched in the same statement for listings that show the owner email.
+     */
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.id > :afterId ORDER BY r.id")
+    List<Restaurant> findActiveAfter(@Param("afterId") long afterId, Pageable limit);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Restaurant> findByIdInAndActiveTrue(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Restaurant> findByIdIn(Collection<Long> ids);
+
     List<Restaurant> findByOwnerId(Long ownerId);
 
     List<Restaurant> findByOwnerIdAndActiveTrue(Long ownerId);
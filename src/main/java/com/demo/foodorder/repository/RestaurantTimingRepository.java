@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ public interface RestaurantTimingRepository extends JpaRepository<RestaurantTimi
 
     List<RestaurantTiming> findByRestaurantId(Long restaurantId);
 
+    List<RestaurantTiming> findByRestaurantIdIn(Collection<Long> restaurantIds);
+
     Optional<RestaurantTiming> findByRestaurantIdAndDayOfWeek(
             Long restaurantId,
             DayOfWeek dayOfWeek
@@ -44,6 +44,8 @@ public class SecurityConfig {
                                 "/h2-console/**",
                                 "/api/search/**",
                                 "/api/restaurants/**",
+                                "/api/menu-items/**",
+                                "/api/catalog/**",
                                 "/error"
                         ).permitAll()
                         .requestMatchers("/api/admin/**")
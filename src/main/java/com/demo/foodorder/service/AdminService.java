@@ -3,6 +3,7 @@ package com.demo.foodorder.service;
 import com.demo.foodorder.dto.request.CreateRestaurantRequest;
 import com.demo.foodorder.dto.request.UpdateRestaurantRequest;
 import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.SearchCacheStatsResponse;
 import jakarta.validation.Valid;
 
 public interface AdminService {
@@ -12,4 +13,6 @@ public interface AdminService {
     RestaurantResponse updateRestaurant(Long restaurantId, @Valid UpdateRestaurantRequest request);
 
     void deleteRestaurant(Long restaurantId);
+
+    SearchCacheStatsResponse getSearchCacheStats();
 }
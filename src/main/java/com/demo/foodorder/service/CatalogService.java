@@ -0,0 +1,18 @@
+package com.demo.foodorder.service;
+
+import com.demo.foodorder.dto.response.CatalogChangesResponse;
+
+public interface CatalogService {
+
+    /**
+     * Catalog changes recorded after sequence number {@code since}, oldest first and
+     * collapsed per restaurant, menu item and timings, in batches of a bounded size.
+     */
+    CatalogChangesResponse changesSince(long since);
+
+    /**
+     * Drops change log entries older than the retention period. Clients still
+     * behind them are told to resync.
+     */
+    void compact();
+}
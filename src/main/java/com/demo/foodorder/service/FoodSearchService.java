@@ -1,22 +1,30 @@
 package com.demo.foodorder.service;
 
+import com.demo.foodorder.dto.request.FoodSearchRequest;
 import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
-import com.demo.foodorder.enums.CuisineType;
-import com.demo.foodorder.enums.FoodCategory;
-
-import java.math.BigDecimal;
+import com.demo.foodorder.enums.SearchTotals;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface FoodSearchService {
+    /**
+     * One page of matches for {@code request}. A null {@code totals} means NONE for
+     * relevance-ranked searches with a query and EXACT otherwise.
+     */
     PagedFoodSearchResponse searchFoods(
-            String q,
-            FoodCategory category,
-            CuisineType cuisine,
-            Boolean vegetarian,
-            Boolean vegan,
-            Boolean glutenFree,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            Boolean openNow,
+            FoodSearchRequest request,
+            SearchTotals totals,
+            boolean includeFacets,
             int pageNumber,
             int pageSize);
+
+    PagedFoodSearchResponse searchFoodsByCursor(
+            FoodSearchRequest request,
+            String cursor,
+            int pageSize);
+
+    /**
+     * Every match for {@code request} as newline-delimited JSON, streamed from a
+     * database cursor so memory use does not grow with the result size.
+     */
+    StreamingResponseBody exportFoods(FoodSearchRequest request);
 }
@@ -5,13 +5,17 @@ import com.demo.foodorder.dto.response.OrderResponse;
 import com.demo.foodorder.entity.User;
 
 import java.util.List;
+import java.util.Set;
 
 public interface OrderService {
     OrderResponse placeOrder(
             PlaceOrderRequest request,
             User user);
 
-    List<OrderResponse> getConsumerOrders(User user);
+    /**
+     * Orders of the consumer with only the requested {@code fields} mapped (all when null).
+     */
+    List<OrderResponse> getConsumerOrders(User user, Set<String> fields);
 
     OrderResponse getOrderStatus(Long orderId, User user);
 }
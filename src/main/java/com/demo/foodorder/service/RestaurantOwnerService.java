@@ -9,6 +9,7 @@ import com.demo.foodorder.dto.response.TimingResponse;
 import com.demo.foodorder.enums.OrderStatus;
 
 import java.util.List;
+import java.util.Set;
 
 public interface RestaurantOwnerService {
 
@@ -22,7 +23,10 @@ public interface RestaurantOwnerService {
 
     List<TimingResponse> updateRestaurantTimings(Long restaurantId, List<TimingRequest> timings, Long ownerId);
 
-    List<OrderResponse> getRestaurantOrders(Long restaurantId, OrderStatus status, Long ownerId);
+    /**
+     * Orders of the restaurant with only the requested {@code fields} mapped (all when null).
+     */
+    List<OrderResponse> getRestaurantOrders(Long restaurantId, OrderStatus status, Long ownerId, Set<String> fields);
 
     OrderResponse approveOrder(Long restaurantId, Long orderId, Long ownerId);
 
@@ -1,15 +1,41 @@
 package com.demo.foodorder.service;
 
+import com.demo.foodorder.cache.SerializedResponse;
+import com.demo.foodorder.dto.response.MenuItemBatchResponse;
 import com.demo.foodorder.dto.response.MenuItemResponse;
+import com.demo.foodorder.dto.response.PagedRestaurantResponse;
+import com.demo.foodorder.dto.response.RestaurantBatchResponse;
 import com.demo.foodorder.dto.response.RestaurantResponse;
 import com.demo.foodorder.dto.response.TimingResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 public interface RestaurantService {
 
+    /**
+     * Every active restaurant in id order, loaded in keyset batches. The unpaged
+     * shape of {@code GET /api/restaurants}, kept for existing clients.
+     */
     List<RestaurantResponse> browseAllRestaurants(boolean openNowOnly);
 
+    PagedRestaurantResponse browseAllRestaurants(
+            boolean openNowOnly,
+            String cursor,
+            int pageSize);
+
+    /**
+     * Every active restaurant as newline-delimited JSON in id order, read in batches
+     * so memory use does not grow with the number of restaurants.
+     */
+    StreamingResponseBody exportRestaurants(boolean openNowOnly);
+
+    List<RestaurantResponse> nearestRestaurants(
+            double userLat,
+            double userLng,
+            int k,
+            boolean openNow);
+
     List<RestaurantResponse> browseRestaurants(
             double userLat,
             double userLng,
@@ -18,7 +44,40 @@ public interface RestaurantService {
 
     RestaurantResponse getRestaurantById(Long restaurantId);
 
+    /**
+     * Looks up several restaurants, and optionally their weekly timings, with one
+     * query each, reporting missing and inactive ids instead of failing.
+     */
+    RestaurantBatchResponse getRestaurantsByIds(List<Long> restaurantIds, boolean includeTimings);
+
+    /**
+     * Looks up several menu items with one query, reporting missing and
+     * unavailable ids instead of failing.
+     */
+    MenuItemBatchResponse getMenuItemsByIds(List<Long> menuItemIds);
+
     List<MenuItemResponse> listMenu(Long restaurantId);
 
     List<TimingResponse> getRestaurantTimings(Long restaurantId);
+
+    /**
+     * The responses of {@link #getRestaurantById}, {@link #listMenu} and
+     * {@link #getRestaurantTimings}, already serialized and served from a cache
+     * that owner and admin changes invalidate.
+     */
+    SerializedResponse getSerializedRestaurant(Long restaurantId);
+
+    SerializedResponse getSerializedMenu(Long restaurantId);
+
+    SerializedResponse getSerializedTimings(Long restaurantId);
+
+    /**
+     * Opaque tags that change whenever the corresponding serialized view may have
+     * changed, taken from in-memory versions without reading the database.
+     */
+    String getRestaurantVersionTag(Long restaurantId);
+
+    String getMenuVersionTag(Long restaurantId);
+
+    String getTimingsVersionTag(Long restaurantId);
 }
@@ -0,0 +1,9 @@
+package com.demo.foodorder.service;
+
+import com.demo.foodorder.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+public interface TypeaheadService {
+    List<SuggestionResponse> suggest(String prefix, int limit);
+}
@@ -1,11 +1,15 @@
 package com.demo.foodorder.service.impl;
 
+import com.demo.foodorder.cache.FoodSearchResultCache;
 import com.demo.foodorder.dto.request.CreateRestaurantRequest;
 import com.demo.foodorder.dto.request.UpdateRestaurantRequest;
 import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.SearchCacheStatsResponse;
 import com.demo.foodorder.entity.Restaurant;
 import com.demo.foodorder.entity.User;
+import com.demo.foodorder.enums.ChangeType;
 import com.demo.foodorder.enums.Role;
+import com.demo.foodorder.event.RestaurantChangedEvent;
 import com.demo.foodorder.exception.BadRequestException;
 import com.demo.foodorder.exception.DatabaseOperationException;
 import com.demo.foodorder.exception.ResourceNotFoundException;
@@ -18,6 +22,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
@@ -28,6 +33,8 @@ public class AdminServiceImpl implements AdminService {
     private static final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
     private final RestaurantRepository restaurantRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FoodSearchResultCache foodSearchResultCache;
 
     @Transactional
     public RestaurantResponse createRestaurant(CreateRestaurantRequest request) {
@@ -56,6 +63,7 @@ public class AdminServiceImpl implements AdminService {
                     .build();
 
             Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+            eventPublisher.publishEvent(new RestaurantChangedEvent(savedRestaurant.getId(), ChangeType.CREATED));
             return RestaurantMapper.toResponse(savedRestaurant);
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error creating restaurant: {}", e.getMessage());
@@ -118,6 +126,7 @@ public class AdminServiceImpl implements AdminService {
             }
 
             Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+            eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, ChangeType.UPDATED));
             return RestaurantMapper.toResponse(updatedRestaurant);
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error updating restaurant: {}", e.getMessage());
@@ -153,6 +162,8 @@ public class AdminServiceImpl implements AdminService {
                 owner.setActive(false);
                 userRepository.save(owner);
             }
+
+            eventPublisher.publishEvent(new RestaurantChangedEvent(restaurantId, ChangeType.DELETED));
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error deleting restaurant: {}", e.getMessage());
             throw e;
@@ -165,4 +176,7 @@ public class AdminServiceImpl implements AdminService {
         }
     }
 
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return foodSearchResultCache.stats();
+    }
 }
@@ -0,0 +1,216 @@
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.dto.response.CatalogChangesResponse;
+import com.demo.foodorder.dto.response.MenuItemResponse;
+import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.TimingResponse;
+import com.demo.foodorder.entity.CatalogChange;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.enums.CatalogEntityType;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.MenuItemChangedEvent;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
+import com.demo.foodorder.exception.BadRequestException;
+import com.demo.foodorder.mapper.MenuItemMapper;
+import com.demo.foodorder.mapper.RestaurantMapper;
+import com.demo.foodorder.mapper.RestaurantTimingMapper;
+import com.demo.foodorder.repository.CatalogChangeRepository;
+import com.demo.foodorder.repository.CatalogSequenceRepository;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import com.demo.foodorder.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogServiceImpl.class);
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final CatalogSequenceRepository catalogSequenceRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantTimingRepository timingRepository;
+
+    @Value("${app.catalog.changes.max-batch}")
+    private int maxBatch;
+
+    @Value("${app.catalog.changes.retention-hours}")
+    private long retentionHours;
+
+    // Log entries are written before commit, so they commit or roll back with the change itself.
+    // The sequence counter stays locked from there until commit, so a reader never sees an
+    // entry while one with a lower id can still commit.
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        record(CatalogEntityType.RESTAURANT, event.restaurantId(), null, event.changeType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onMenuItemChanged(MenuItemChangedEvent event) {
+        record(CatalogEntityType.MENU_ITEM, event.restaurantId(), event.menuItemId(), event.changeType());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTimingsChanged(RestaurantTimingsChangedEvent event) {
+        record(CatalogEntityType.TIMINGS, event.restaurantId(), null, ChangeType.UPDATED);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CatalogChangesResponse changesSince(long since) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+
+        long earliest = Optional.ofNullable(catalogChangeRepository.findEarliestId()).orElse(0L);
+        long latest = Optional.ofNullable(catalogChangeRepository.findLatestId()).orElse(0L);
+
+        // Entries after since were compacted away, or since comes from a different log
+        if ((earliest > 0 && since < earliest - 1) || since > latest) {
+            return resyncRequired(latest);
+        }
+
+        // Fetch one extra entry to learn whether another batch exists
+        List<CatalogChange> changes = catalogChangeRepository.findAfter(since, PageRequest.of(0, maxBatch + 1));
+        // Ids have no gaps, so a missing since + 1 means a compaction ran after the check above
+        if (since < latest && (changes.isEmpty() || changes.get(0).getId() != since + 1)) {
+            return resyncRequired(latest);
+        }
+        boolean hasMore = changes.size() > maxBatch;
+        if (hasMore) {
+            changes = changes.subList(0, maxBatch);
+        }
+        if (changes.isEmpty()) {
+            return CatalogChangesResponse.builder()
+                    .version(since)
+                    .build();
+        }
+
+        Set<Long> restaurantIds = new LinkedHashSet<>();
+        Set<Long> menuItemIds = new LinkedHashSet<>();
+        Set<Long> timingRestaurantIds = new LinkedHashSet<>();
+        for (CatalogChange change : changes) {
+            switch (change.getEntityType()) {
+                case RESTAURANT -> restaurantIds.add(change.getRestaurantId());
+                case MENU_ITEM -> menuItemIds.add(change.getMenuItemId());
+                case TIMINGS -> timingRestaurantIds.add(change.getRestaurantId());
+            }
+        }
+
+        CatalogChangesResponse.CatalogChangesResponseBuilder response = CatalogChangesResponse.builder()
+                .version(changes.get(changes.size() - 1).getId())
+                .hasMore(hasMore);
+        addRestaurants(response, restaurantIds);
+        addMenuItems(response, menuItemIds);
+        addTimings(response, timingRestaurantIds);
+        return response.build();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.catalog.changes.compact-ms}",
+            fixedDelayString = "${app.catalog.changes.compact-ms}")
+    @Transactional
+    @Override
+    public void compact() {
+        Long through = catalogChangeRepository.findLatestIdBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (through == null) return;
+
+        // Keep the newest entry, so the start of the retained log stays known
+        long latest = catalogChangeRepository.findLatestId();
+        int removed = catalogChangeRepository.deleteThrough(Math.min(through, latest - 1));
+        if (removed > 0) {
+            logger.info("Compacted {} catalog change log entries", removed);
+        }
+    }
+
+    private static CatalogChangesResponse resyncRequired(long latest) {
+        return CatalogChangesResponse.builder()
+                .version(latest)
+                .resyncRequired(true)
+                .build();
+    }
+
+    private void record(CatalogEntityType entityType, Long restaurantId, Long menuItemId, ChangeType changeType) {
+        catalogSequenceRepository.increment();
+        catalogChangeRepository.save(CatalogChange.builder()
+                .id(catalogSequenceRepository.current())
+                .entityType(entityType)
+                .restaurantId(restaurantId)
+                .menuItemId(menuItemId)
+                .changeType(changeType)
+                .build());
+    }
+
+    private void addRestaurants(CatalogChangesResponse.CatalogChangesResponseBuilder response, Set<Long> ids) {
+        if (ids.isEmpty()) return;
+
+        Map<Long, Restaurant> active = restaurantRepository.findByIdInAndActiveTrue(ids)
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, r -> r));
+        List<RestaurantResponse> restaurants = new ArrayList<>();
+        List<Long> deactivated = new ArrayList<>();
+        for (Long id : ids) {
+            Restaurant restaurant = active.get(id);
+            if (restaurant == null) {
+                deactivated.add(id);
+            } else {
+                restaurants.add(RestaurantMapper.toResponse(restaurant));
+            }
+        }
+        response.restaurants(restaurants).deactivatedRestaurantIds(deactivated);
+    }
+
+    private void addMenuItems(CatalogChangesResponse.CatalogChangesResponseBuilder response, Set<Long> ids) {
+        if (ids.isEmpty()) return;
+
+        Map<Long, MenuItem> items = menuItemRepository.findWithRestaurantByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, m -> m));
+        Map<Long, List<MenuItemResponse>> available = new LinkedHashMap<>();
+        List<Long> removed = new ArrayList<>();
+        for (Long id : ids) {
+            MenuItem item = items.get(id);
+            if (item == null || !Boolean.TRUE.equals(item.getAvailable())
+                    || !Boolean.TRUE.equals(item.getRestaurant().getActive())) {
+                removed.add(id);
+            } else {
+                available.computeIfAbsent(item.getRestaurant().getId(), key -> new ArrayList<>())
+                        .add(MenuItemMapper.toResponse(item));
+            }
+        }
+        response.menuItems(available).removedMenuItemIds(removed);
+    }
+
+    private void addTimings(CatalogChangesResponse.CatalogChangesResponseBuilder response, Set<Long> restaurantIds) {
+        if (restaurantIds.isEmpty()) return;
+
+        // Timings are replaced as a whole week, so send every restaurant's full week, even if now empty
+        Map<Long, List<TimingResponse>> timings = new LinkedHashMap<>();
+        restaurantIds.forEach(id -> timings.put(id, new ArrayList<>()));
+        timingRepository.findByRestaurantIdIn(restaurantIds)
+                .stream()
+                .sorted(Comparator.comparing(RestaurantTiming::getDayOfWeek))
+                .forEach(timing -> timings.get(timing.getRestaurant().getId())
+                        .add(RestaurantTimingMapper.toResponse(timing)));
+        response.timings(timings);
+    }
+}
@@ -1,91 +1,388 @@
 package com.demo.foodorder.service.impl;
 
+import com.demo.foodorder.cache.FoodSearchResultCache;
+import com.demo.foodorder.cache.SearchCountEstimator;
+import com.demo.foodorder.dto.request.FoodSearchRequest;
 import com.demo.foodorder.dto.response.FoodSearchResponse;
 import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
-import com.demo.foodorder.enums.CuisineType;
-import com.demo.foodorder.enums.FoodCategory;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.enums.SearchTotals;
+import com.demo.foodorder.exception.BadRequestException;
+import com.demo.foodorder.exception.DatabaseOperationException;
+import com.demo.foodorder.index.MenuItemHits;
+import com.demo.foodorder.index.MenuItemQuery;
+import com.demo.foodorder.index.MenuItemSearchIndex;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantDistance;
+import com.demo.foodorder.index.RestaurantGeoIndex;
 import com.demo.foodorder.mapper.FoodSearchMapper;
 import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.MenuItemSpecifications;
 import com.demo.foodorder.service.FoodSearchService;
+import com.demo.foodorder.util.FoodSearchCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.math.BigDecimal;
-import java.time.DayOfWeek;
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class FoodSearchServiceImpl implements FoodSearchService {
 
     private static final Logger logger = LoggerFactory.getLogger(FoodSearchServiceImpl.class);
+    private static final double DEFAULT_RADIUS_KM = 5;
     private final MenuItemRepository menuItemRepository;
+    private final MenuItemSearchIndex menuItemSearchIndex;
+    private final SearchCountEstimator searchCountEstimator;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final FoodSearchResultCache foodSearchResultCache;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.search.export.fetch-size}")
+    private int exportFetchSize;
 
     @Transactional(readOnly = true)
     @Override
     public PagedFoodSearchResponse searchFoods(
-            String q,
-            FoodCategory category,
-            CuisineType cuisine,
-            Boolean vegetarian,
-            Boolean vegan,
-            Boolean glutenFree,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            Boolean openNow,
+            FoodSearchRequest request,
+            SearchTotals totals,
+            boolean includeFacets,
             int pageNumber,
             int pageSize) {
 
         if (pageNumber < 0) pageNumber = 0;
         if (pageSize < 1) pageSize = 10;
         if (pageSize > 100) pageSize = 100;
+        validateLocation(request);
 
-        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        // Ranked pages only count every match on request, so their top-k retrieval can stop early
+        SearchTotals resolvedTotals = totals != null ? totals
+                : request.getSort() == FoodSearchSort.RELEVANCE && request.getQuery() != null
+                ? SearchTotals.NONE
+                : SearchTotals.EXACT;
+        int page = pageNumber;
+        int size = pageSize;
+        return foodSearchResultCache.get(
+                request, resolvedTotals, includeFacets, page, size,
+                () -> search(request, resolvedTotals, includeFacets, page, size)
+        );
+    }
 
-        Page<com.demo.foodorder.entity.MenuItem> menuItemPage;
+    private PagedFoodSearchResponse search(
+            FoodSearchRequest request,
+            SearchTotals totals,
+            boolean includeFacets,
+            int pageNumber,
+            int pageSize) {
 
-        if (openNow != null && openNow) {
-            DayOfWeek today = DayOfWeek.valueOf(LocalDate.now().getDayOfWeek().name());
-            LocalTime now = LocalTime.now();
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        List<RestaurantDistance> nearby = nearby(request);
+        Collection<Long> restaurantIds = restaurantFilter(request, nearby);
+        Map<Long, Double> distances = distances(nearby);
 
-            menuItemPage = menuItemRepository.searchFoodsWithOpenNow(
-                    q, category, cuisine,
-                    vegetarian, vegan, glutenFree,
-                    minPrice, maxPrice,
-                    today, now,
-                    pageable
-            );
-        } else {
-            menuItemPage = menuItemRepository.searchFoods(
-                    q, category, cuisine,
-                    vegetarian, vegan, glutenFree,
-                    minPrice, maxPrice,
-                    pageable
+        // Serve from the in-memory index once it is built; the database path covers startup
+        if (menuItemSearchIndex.isReady()) {
+            MenuItemQuery query = new MenuItemQuery(
+                    request.getQuery(), request.getFoodCategory(), request.getCuisineType(),
+                    request.getVegetarian(), request.getVegan(), request.getGlutenFree(),
+                    request.getMinPrice(), request.getMaxPrice(),
+                    restaurantIds
             );
+            Optional<MenuItemHits> hits = menuItemSearchIndex.search(
+                    query, request.getSort(), (int) pageable.getOffset(), pageSize,
+                    totals == SearchTotals.EXACT, includeFacets);
+            if (hits.isPresent()) {
+                Long total = indexTotal(hits.get(), totals, pageable, query, request);
+                return toPagedResponse(hits.get(), total, distances, pageNumber, pageSize);
+            }
+        }
+
+        Specification<MenuItem> spec = MenuItemSpecifications.forSearch(request, restaurantIds);
+
+        Slice<FoodSearchResponse> resultSlice = menuItemRepository.searchFoods(
+                spec, PageRequest.of(pageNumber, pageSize, databaseSort(request.getSort())));
+        LongSupplier counter = () -> menuItemRepository.count(spec);
+
+        Long totalElements = resolveTotal(totals, resultSlice, pageable, counter, filterKey(request));
+
+        return PagedFoodSearchResponse.builder()
+                .content(resultSlice.getContent().stream()
+                        .map(response -> FoodSearchMapper.withDistance(response, distances))
+                        .toList())
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .totalElements(totalElements)
+                .totalPages(totalElements == null ? null : (int) Math.ceil((double) totalElements / pageSize))
+                .hasNext(resultSlice.hasNext())
+                .hasPrevious(resultSlice.hasPrevious())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public PagedFoodSearchResponse searchFoodsByCursor(
+            FoodSearchRequest request,
+            String cursor,
+            int pageSize) {
+
+        if (pageSize < 1) pageSize = 10;
+        if (pageSize > 100) pageSize = 100;
+        validateLocation(request);
+        // The cursor encodes a (price, id) key, so no other order can be paged this way
+        if (request.getSort() != null && request.getSort() != FoodSearchSort.PRICE_ASC) {
+            throw new BadRequestException("CURSOR pagination only supports sort=price_asc");
         }
 
-        List<FoodSearchResponse> content = menuItemPage.getContent()
-                .stream()
-                .map(FoodSearchMapper::toResponse)
+        FoodSearchCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : FoodSearchCursor.decode(cursor);
+
+        List<RestaurantDistance> nearby = nearby(request);
+        Collection<Long> restaurantIds = restaurantFilter(request, nearby);
+        Map<Long, Double> distances = distances(nearby);
+
+        // Same filter predicates as offset paging, plus the keyset; the slice reads one
+        // extra row to learn whether another page exists, without a COUNT query
+        Specification<MenuItem> spec = MenuItemSpecifications.forSearch(request, restaurantIds)
+                .and(MenuItemSpecifications.priceIdAfter(
+                        after == null ? null : after.price(),
+                        after == null ? null : after.id()));
+        Slice<FoodSearchResponse> slice = menuItemRepository.searchFoods(
+                spec, PageRequest.of(0, pageSize, databaseSort(FoodSearchSort.PRICE_ASC)));
+
+        boolean hasNext = slice.hasNext();
+        List<FoodSearchResponse> page = slice.getContent();
+        FoodSearchResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return PagedFoodSearchResponse.builder()
+                .content(page.stream()
+                        .map(response -> FoodSearchMapper.withDistance(response, distances))
+                        .toList())
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .hasPrevious(after != null)
+                .nextCursor(hasNext ? new FoodSearchCursor(last.getPrice(), last.getMenuItemId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Database ordering for the fallback path. Popularity has no database ordering, so it is
+     * rejected rather than served unordered until the index is built; relevance and distance
+     * pages stay unordered until then.
+     */
+    private static Sort databaseSort(FoodSearchSort sort) {
+        if (sort == null) return Sort.unsorted();
+        return switch (sort) {
+            case PRICE_ASC -> Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+            case PRICE_DESC -> Sort.by(Sort.Order.desc("price"), Sort.Order.asc("id"));
+            case NEWEST -> Sort.by(Sort.Order.desc("id"));
+            case POPULARITY -> throw new BadRequestException(
+                    "sort=popularity is not available until the search index is built");
+            case RELEVANCE, DISTANCE -> Sort.unsorted();
+        };
+    }
+
+    @Override
+    public StreamingResponseBody exportFoods(FoodSearchRequest request) {
+        // Validate up front: once streaming starts the status can no longer change
+        validateLocation(request);
+
+        // The body is written on an async thread, so the stream gets its own transaction there
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return out -> transaction.executeWithoutResult(status -> writeExport(request, out));
+    }
+
+    private void writeExport(FoodSearchRequest request, OutputStream out) {
+        List<RestaurantDistance> nearby = nearby(request);
+        Map<Long, Double> distances = distances(nearby);
+        Specification<MenuItem> spec = MenuItemSpecifications.forSearch(request, restaurantFilter(request, nearby));
+
+        long written = 0;
+        try (Stream<FoodSearchResponse> rows = menuItemRepository.streamFoods(spec, exportFetchSize)) {
+            Iterator<FoodSearchResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(FoodSearchMapper.withDistance(iterator.next(), distances)));
+                out.write('\n');
+                if (++written % exportFetchSize == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+            logger.info("Exported {} food search results", written);
+        } catch (IOException e) {
+            // Usually the client went away; nothing more can be sent on this response
+            logger.warn("Food search export stopped after {} results: {}", written, e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (DataAccessException e) {
+            logger.error("Database error exporting food search results", e);
+            throw new DatabaseOperationException("Error occurred during database operation", e);
+        }
+    }
+
+    /**
+     * Checks that a location comes as a complete, valid pair and applies the default
+     * radius, before the request is used as a cache key.
+     */
+    private static void validateLocation(FoodSearchRequest request) {
+        Double lat = request.getLatitude();
+        Double lng = request.getLongitude();
+        if (lat == null && lng == null) {
+            if (request.getRadiusKm() != null) {
+                throw new BadRequestException("radiusKm requires lat and lng");
+            }
+            if (request.getSort() == FoodSearchSort.DISTANCE) {
+                throw new BadRequestException("Sorting by distance requires lat and lng");
+            }
+            return;
+        }
+        if (lat == null || lng == null) {
+            throw new BadRequestException("lat and lng must be provided together");
+        }
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180) {
+            throw new BadRequestException("lat must be between -90 and 90, lng between -180 and 180");
+        }
+        if (request.getRadiusKm() == null) {
+            request.setRadiusKm(DEFAULT_RADIUS_KM);
+        } else if (request.getRadiusKm() <= 0) {
+            throw new BadRequestException("radiusKm must be greater than 0");
+        }
+    }
+
+    private List<RestaurantDistance> nearby(FoodSearchRequest request) {
+        if (request.getLatitude() == null) return null;
+        return restaurantGeoIndex.within(request.getLatitude(), request.getLongitude(), request.getRadiusKm());
+    }
+
+    /**
+     * Restaurants the search is restricted to: nearby ones (nearest first) and/or
+     * those open now. Null when neither applies.
+     */
+    private Collection<Long> restaurantFilter(FoodSearchRequest request, List<RestaurantDistance> nearby) {
+        Set<Long> openRestaurantIds = Boolean.TRUE.equals(request.getOpenNow())
+                ? openingHoursIndex.openRestaurantIds(LocalDateTime.now())
+                : null;
+        if (nearby == null) {
+            return openRestaurantIds;
+        }
+        return nearby.stream()
+                .map(RestaurantDistance::restaurantId)
+                .filter(id -> openRestaurantIds == null || openRestaurantIds.contains(id))
                 .toList();
+    }
+
+    private static Map<Long, Double> distances(List<RestaurantDistance> nearby) {
+        if (nearby == null) return null;
+        return nearby.stream().collect(Collectors.toMap(
+                RestaurantDistance::restaurantId, RestaurantDistance::distanceKm));
+    }
+
+    private PagedFoodSearchResponse toPagedResponse(
+            MenuItemHits hits,
+            Long total,
+            Map<Long, Double> distances,
+            int pageNumber,
+            int pageSize) {
 
         return PagedFoodSearchResponse.builder()
-                .content(content)
+                .content(hits.documents().stream()
+                        .map(doc -> FoodSearchMapper.withDistance(FoodSearchMapper.toResponse(doc), distances))
+                        .toList())
                 .pageNumber(pageNumber)
                 .pageSize(pageSize)
-                .totalElements(menuItemPage.getTotalElements())
-                .totalPages(menuItemPage.getTotalPages())
-                .hasNext(menuItemPage.hasNext())
-                .hasPrevious(menuItemPage.hasPrevious())
+                .totalElements(total)
+                .totalPages(total == null ? null : (int) Math.ceil((double) total / pageSize))
+                .hasNext(hits.hasNext())
+                .hasPrevious(pageNumber > 0)
+                .facets(hits.facets() == null ? null : FoodSearchMapper.toResponse(hits.facets()))
                 .build();
     }
-}
 
+    /**
+     * Total for an index page. The index counts exactly whenever that is cheap, so
+     * APPROXIMATE gets the exact total too; only ranked searches leave it out unless
+     * EXACT was asked for, as counting them walks every posting of the query terms.
+     * Their APPROXIMATE total comes from the estimator, which counts in the background.
+     */
+    private Long indexTotal(
+            MenuItemHits hits,
+            SearchTotals totals,
+            Pageable pageable,
+            MenuItemQuery query,
+            FoodSearchRequest request) {
+
+        if (totals == SearchTotals.NONE) return null;
+        if (hits.total() != null) return hits.total();
+
+        // A last page already tells us the exact total, no count needed
+        if (!hits.hasNext() && (!hits.documents().isEmpty() || pageable.getPageNumber() == 0)) {
+            return pageable.getOffset() + hits.documents().size();
+        }
+        // Ranked counts match words rather than a name substring, so they get their own key
+        return searchCountEstimator.estimate(
+                List.of(FoodSearchSort.RELEVANCE, filterKey(request)),
+                () -> menuItemSearchIndex.search(query, FoodSearchSort.RELEVANCE, 0, 0, true, false)
+                        .map(MenuItemHits::total)
+                        .orElseThrow());
+    }
+
+    private static List<Object> filterKey(FoodSearchRequest request) {
+        return Arrays.asList(
+                request.getQuery(), request.getFoodCategory(), request.getCuisineType(),
+                request.getVegetarian(), request.getVegan(), request.getGlutenFree(),
+                request.getMinPrice(), request.getMaxPrice(), request.getOpenNow(),
+                request.getLatitude(), request.getLongitude(), request.getRadiusKm()
+        );
+    }
+
+    private Long resolveTotal(
+            SearchTotals totals,
+            Slice<FoodSearchResponse> slice,
+            Pageable pageable,
+            LongSupplier counter,
+            Object filterKey) {
+
+        // A last page already tells us the exact total, no count needed
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getPageNumber() == 0)) {
+            return totals == SearchTotals.NONE
+                    ? null
+                    : pageable.getOffset() + slice.getNumberOfElements();
+        }
+
+        return switch (totals) {
+            case EXACT -> counter.getAsLong();
+            case APPROXIMATE -> searchCountEstimator.estimate(filterKey, counter);
+            case NONE -> null;
+        };
+    }
+}
@@ -22,6 +22,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -95,11 +96,11 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<OrderResponse> getConsumerOrders(User user) {
+    public List<OrderResponse> getConsumerOrders(User user, Set<String> fields) {
         logger.info("Getting orders for consumer: {}", user.getId());
         return orderRepository.findByConsumerId(user.getId())
                 .stream()
-                .map(OrderMapper::toResponse)
+                .map(order -> OrderMapper.toResponse(order, fields))
                 .toList();
     }
 
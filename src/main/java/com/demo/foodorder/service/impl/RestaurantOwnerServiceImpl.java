@@ -10,7 +10,10 @@ import com.demo.foodorder.entity.MenuItem;
 import com.demo.foodorder.entity.Order;
 import com.demo.foodorder.entity.Restaurant;
 import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.enums.ChangeType;
 import com.demo.foodorder.enums.OrderStatus;
+import com.demo.foodorder.event.MenuItemChangedEvent;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
 import com.demo.foodorder.exception.BadRequestException;
 import com.demo.foodorder.exception.DatabaseOperationException;
 import com.demo.foodorder.exception.ResourceNotFoundException;
@@ -27,6 +30,7 @@ import com.demo.foodorder.service.RestaurantOwnerService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -45,6 +49,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
     private final MenuItemRepository menuItemRepository;
     private final RestaurantTimingRepository timingRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private Restaurant loadActiveRestaurantForOwner(Long restaurantId, Long ownerId) {
         return restaurantRepository.findByIdAndOwnerIdAndActiveTrue(restaurantId, ownerId)
@@ -80,6 +85,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
                     .glutenFree(req.getGlutenFree())
                     .build();
             MenuItem saved = menuItemRepository.save(item);
+            eventPublisher.publishEvent(new MenuItemChangedEvent(restaurantId, saved.getId(), ChangeType.CREATED));
             return MenuItemMapper.toResponse(saved);
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error adding menu item: {}", e.getMessage());
@@ -118,6 +124,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
             item.setGlutenFree(req.getGlutenFree() == null ? item.getGlutenFree() : req.getGlutenFree());
 
             MenuItem saved = menuItemRepository.save(item);
+            eventPublisher.publishEvent(new MenuItemChangedEvent(restaurantId, saved.getId(), ChangeType.UPDATED));
             return MenuItemMapper.toResponse(saved);
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error updating menu item: {}", e.getMessage());
@@ -142,6 +149,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
 
             item.setAvailable(false);
             menuItemRepository.save(item);
+            eventPublisher.publishEvent(new MenuItemChangedEvent(restaurantId, itemId, ChangeType.DELETED));
         } catch (ResourceNotFoundException | BadRequestException e) {
             logger.error("Error deleting menu item: {}", e.getMessage());
             throw e;
@@ -201,9 +209,10 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
                     );
                 }
 
-                if (!open.isBefore(close)) {
+                // closeTime before openTime is an overnight window ending the next day
+                if (open.equals(close)) {
                     throw new BadRequestException(
-                            "openTime must be before closeTime for " + req.getDayOfWeek()
+                            "openTime and closeTime must differ for " + req.getDayOfWeek()
                     );
                 }
 
@@ -235,6 +244,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
                 timingRepository.deleteAll(timingsToDelete);
             }
 
+            eventPublisher.publishEvent(new RestaurantTimingsChangedEvent(restaurantId));
             return responses;
         } catch (ResourceNotFoundException | BadRequestException e) {
             throw e;
@@ -246,7 +256,11 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
     }
 
     @Override
-    public List<OrderResponse> getRestaurantOrders(Long restaurantId, OrderStatus status, Long ownerId) {
+    public List<OrderResponse> getRestaurantOrders(
+            Long restaurantId,
+            OrderStatus status,
+            Long ownerId,
+            Set<String> fields) {
         loadActiveRestaurantForOwner(restaurantId, ownerId);
 
         List<Order> orders;
@@ -257,7 +271,7 @@ public class RestaurantOwnerServiceImpl implements RestaurantOwnerService {
         }
 
         return orders.stream()
-                .map(OrderMapper::toResponse)
+                .map(order -> OrderMapper.toResponse(order, fields))
                 .toList();
     }
 
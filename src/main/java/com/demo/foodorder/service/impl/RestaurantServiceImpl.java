@@ -1,133 +1,396 @@
-package com.demo.foodorder.service.impl;
-
-import com.demo.foodorder.dto.response.MenuItemResponse;
-import com.demo.foodorder.dto.response.RestaurantResponse;
-import com.demo.foodorder.dto.response.TimingResponse;
-import com.demo.foodorder.entity.Restaurant;
-import com.demo.foodorder.entity.RestaurantTiming;
-import com.demo.foodorder.exception.ResourceNotFoundException;
-import com.demo.foodorder.mapper.MenuItemMapper;
-import com.demo.foodorder.mapper.RestaurantMapper;
-import com.demo.foodorder.mapper.RestaurantTimingMapper;
-import com.demo.foodorder.repository.MenuItemRepository;
-import com.demo.foodorder.repository.RestaurantRepository;
-import com.demo.foodorder.repository.RestaurantTimingRepository;
-import com.demo.foodorder.service.RestaurantService;
-import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Service;
-
-import java.time.DayOfWeek;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.List;
-import java.util.stream.Collectors;
-
-@Service
-@RequiredArgsConstructor
-public class RestaurantServiceImpl implements RestaurantService {
-
-    private static final Logger logger = LoggerFactory.getLogger(RestaurantServiceImpl.class);
-    private final RestaurantRepository restaurantRepository;
-    private final RestaurantTimingRepository timingRepository;
-    private final MenuItemRepository menuItemRepository;
-
-    private static boolean isOpenNow(LocalTime now, RestaurantTiming timing) {
-        return timing != null
-                && !now.isBefore(timing.getOpenTime())
-                && !now.isAfter(timing.getCloseTime());
-    }
-
-    @Override
-    public List<RestaurantResponse> browseAllRestaurants(boolean openNowOnly) {
-        return restaurantRepository.findByActiveTrue()
-                .stream()
-                .map(this::toRestaurantDetailedResponse)
-                .filter(r -> !openNowOnly || ((r != null && r.getOpenNow())))
-                .toList();
-    }
-
-    @Override
-    public List<RestaurantResponse> browseRestaurants(
-            double userLat,
-            double userLng,
-            double radiusKm,
-            boolean openNow) {
-
-        return restaurantRepository.findByActiveTrue()
-                .stream()
-                .filter(r ->
-                        distanceKm(
-                                userLat, userLng,
-                                r.getLatitude(), r.getLongitude()
-                        ) <= radiusKm
-                )
-                .map(this::toRestaurantDetailedResponse)
-                .filter(r -> !openNow || (r != null && r.getOpenNow()))
-                .toList();
-    }
-
-    public RestaurantResponse getRestaurantById(Long id) {
-        Restaurant restaurant = restaurantRepository.findByIdAndActiveTrue(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
-
-        DayOfWeek today = DayOfWeek.valueOf(LocalDate.now().getDayOfWeek().name());
-        LocalTime now = LocalTime.now();
-        var restaurantTiming = timingRepository
-                .findByRestaurantIdAndDayOfWeek(restaurant.getId(), today)
-                .orElse(null);
-        if (restaurantTiming == null) return RestaurantMapper.toResponse(restaurant);
-        boolean openNow = isOpenNow(now, restaurantTiming);
-        return RestaurantMapper.toResponse(restaurant, restaurantTiming, openNow);
-    }
-
-    @Override
-    public List<MenuItemResponse> listMenu(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId).stream()
-                .map(MenuItemMapper::toResponse)
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    public List<TimingResponse> getRestaurantTimings(Long restaurantId) {
-        restaurantRepository.findByIdAndActiveTrue(restaurantId)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
-        return timingRepository.findByRestaurantId(restaurantId).stream()
-                .map(RestaurantTimingMapper::toResponse)
-                .toList();
-    }
-
-    private RestaurantResponse toRestaurantDetailedResponse(
-            Restaurant restaurant) {
-
-        DayOfWeek today = DayOfWeek.valueOf(LocalDate.now().getDayOfWeek().name());
-        LocalTime now = LocalTime.now();
-        var restaurantTiming = timingRepository
-                .findByRestaurantIdAndDayOfWeek(restaurant.getId(), today)
-                .orElse(null);
-        boolean openNow = isOpenNow(now, restaurantTiming);
-        return RestaurantMapper.toResponse(restaurant, restaurantTiming, openNow);
-    }
-
-    /**
-     * Haversine formula (km)
-     */
-    private double distanceKm(
-            double lat1, double lon1,
-            double lat2, double lon2) {
-
-        final double R = 6371; // Earth radius km
-
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1))
-                * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-}
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.cache.RestaurantResponseCache;
+import com.demo.foodorder.cache.RestaurantVersions;
+import com.demo.foodorder.cache.SerializedResponse;
+import com.demo.foodorder.dto.response.MenuItemBatchResponse;
+import com.demo.foodorder.dto.response.MenuItemResponse;
+import com.demo.foodorder.dto.response.PagedRestaurantResponse;
+import com.demo.foodorder.dto.response.RestaurantBatchResponse;
+import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.dto.response.TimingResponse;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.exception.BadRequestException;
+import com.demo.foodorder.exception.DatabaseOperationException;
+import com.demo.foodorder.exception.ResourceNotFoundException;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantDistance;
+import com.demo.foodorder.index.RestaurantGeoIndex;
+import com.demo.foodorder.mapper.MenuItemMapper;
+import com.demo.foodorder.mapper.RestaurantMapper;
+import com.demo.foodorder.mapper.RestaurantTimingMapper;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import com.demo.foodorder.service.RestaurantService;
+import com.demo.foodorder.util.RestaurantCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class RestaurantServiceImpl implements RestaurantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantServiceImpl.class);
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantTimingRepository timingRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final OpeningHoursIndex openingHoursIndex;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+
+    private final RestaurantResponseCache restaurantResponseCache;
+    private final RestaurantVersions restaurantVersions;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_NEAREST = 50;
+    private static final int MAX_BATCH_IDS = 100;
+
+    @Value("${app.restaurants.export.batch-size}")
+    private int exportBatchSize;
+
+    @Override
+    public List<RestaurantResponse> browseAllRestaurants(boolean openNowOnly) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RestaurantResponse> restaurants = new ArrayList<>();
+        long afterId = 0;
+        List<Restaurant> batch;
+        while (!(batch = restaurantsAfter(openNowOnly, afterId, exportBatchSize, now)).isEmpty()) {
+            batch.forEach(restaurant -> restaurants.add(toRestaurantDetailedResponse(restaurant)));
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        return restaurants;
+    }
+
+    @Override
+    public PagedRestaurantResponse browseAllRestaurants(
+            boolean openNowOnly,
+            String cursor,
+            int pageSize) {
+
+        if (pageSize < 1) pageSize = 20;
+        if (pageSize > 100) pageSize = 100;
+
+        RestaurantCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : RestaurantCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Restaurant> rows = restaurantsAfter(
+                openNowOnly, after == null ? 0 : after.id(), pageSize + 1, LocalDateTime.now());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Restaurant> page = hasNext ? rows.subList(0, pageSize) : rows;
+        Restaurant last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return PagedRestaurantResponse.builder()
+                .content(page.stream()
+                        .map(this::toRestaurantDetailedResponse)
+                        .toList())
+                .pageSize(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new RestaurantCursor(last.getId()).encode() : null)
+                .build();
+    }
+
+    @Override
+    public StreamingResponseBody exportRestaurants(boolean openNowOnly) {
+        LocalDateTime now = LocalDateTime.now();
+        return out -> writeExport(openNowOnly, now, out);
+    }
+
+    /**
+     * Writes the restaurants a batch at a time, each batch its own keyset query, so
+     * neither memory nor a database cursor is held for the whole export.
+     */
+    private void writeExport(boolean openNowOnly, LocalDateTime now, OutputStream out) {
+        long written = 0;
+        long afterId = 0;
+        try {
+            List<Restaurant> batch;
+            while (!(batch = restaurantsAfter(openNowOnly, afterId, exportBatchSize, now)).isEmpty()) {
+                for (Restaurant restaurant : batch) {
+                    out.write(objectMapper.writeValueAsBytes(toRestaurantDetailedResponse(restaurant)));
+                    out.write('\n');
+                }
+                out.flush();
+                written += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            logger.info("Exported {} restaurants", written);
+        } catch (IOException e) {
+            // Usually the client went away; nothing more can be sent on this response
+            logger.warn("Restaurant export stopped after {} restaurants: {}", written, e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (DataAccessException e) {
+            logger.error("Database error exporting restaurants", e);
+            throw new DatabaseOperationException("Error occurred during database operation", e);
+        }
+    }
+
+    /**
+     * Up to {@code limit} active restaurants after {@code afterId} in id order, with
+     * their owners. With {@code openNowOnly} the page is cut from the opening hours
+     * index first, so closed restaurants are never loaded. The index also holds
+     * inactive restaurants, so ids are loaded in chunks until the page is full or the
+     * open ids run out; a short page then really is the last one.
+     */
+    private List<Restaurant> restaurantsAfter(boolean openNowOnly, long afterId, int limit, LocalDateTime now) {
+        if (!openNowOnly) {
+            return restaurantRepository.findActiveAfter(afterId, PageRequest.of(0, limit));
+        }
+
+        List<Long> ids = openingHoursIndex.openRestaurantIds(now)
+                .stream()
+                .filter(id -> id > afterId)
+                .sorted()
+                .toList();
+
+        List<Restaurant> page = new ArrayList<>();
+        int from = 0;
+        while (page.size() < limit && from < ids.size()) {
+            int to = Math.min(from + limit - page.size(), ids.size());
+            restaurantRepository.findByIdInAndActiveTrue(ids.subList(from, to))
+                    .stream()
+                    .sorted(Comparator.comparing(Restaurant::getId))
+                    .forEach(page::add);
+            from = to;
+        }
+        return page;
+    }
+
+    @Override
+    public List<RestaurantResponse> browseRestaurants(
+            double userLat,
+            double userLng,
+            double radiusKm,
+            boolean openNow) {
+
+        // The grid index narrows the search to nearby cells; only those restaurants are loaded
+        LocalDateTime now = LocalDateTime.now();
+        List<RestaurantDistance> nearby = restaurantGeoIndex.within(userLat, userLng, radiusKm)
+                .stream()
+                .filter(d -> !openNow || openingHoursIndex.isOpen(d.restaurantId(), now))
+                .toList();
+        return toDistanceResponses(nearby);
+    }
+
+    @Override
+    public List<RestaurantResponse> nearestRestaurants(
+            double userLat,
+            double userLng,
+            int k,
+            boolean openNow) {
+
+        if (userLat < -90 || userLat > 90 || userLng < -180 || userLng > 180) {
+            throw new BadRequestException("lat must be between -90 and 90, lng between -180 and 180");
+        }
+        if (k < 1) k = 1;
+        if (k > MAX_NEAREST) k = MAX_NEAREST;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RestaurantDistance> nearest = restaurantGeoIndex.nearest(
+                userLat, userLng, k,
+                id -> !openNow || openingHoursIndex.isOpen(id, now)
+        );
+        return toDistanceResponses(nearest);
+    }
+
+    /**
+     * Loads the given restaurants in one statement and maps them in the given order
+     * with their distances.
+     */
+    private List<RestaurantResponse> toDistanceResponses(List<RestaurantDistance> distances) {
+        if (distances.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = distances.stream().map(RestaurantDistance::restaurantId).toList();
+        Map<Long, Restaurant> restaurants = restaurantRepository.findByIdInAndActiveTrue(ids)
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        return distances.stream()
+                .filter(d -> restaurants.containsKey(d.restaurantId()))
+                .map(d -> RestaurantMapper.withDistance(
+                        toRestaurantDetailedResponse(restaurants.get(d.restaurantId())), d.distanceKm()))
+                .toList();
+    }
+
+    public RestaurantResponse getRestaurantById(Long id) {
+        Restaurant restaurant = restaurantRepository.findByIdAndActiveTrue(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+
+        return toRestaurantDetailedResponse(restaurant);
+    }
+
+    @Override
+    public RestaurantBatchResponse getRestaurantsByIds(List<Long> restaurantIds, boolean includeTimings) {
+        List<Long> ids = batchIds(restaurantIds);
+
+        Map<Long, Restaurant> restaurants = restaurantRepository.findByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        List<RestaurantResponse> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> inactive = new ArrayList<>();
+        for (Long id : ids) {
+            Restaurant restaurant = restaurants.get(id);
+            if (restaurant == null) {
+                missing.add(id);
+            } else if (!Boolean.TRUE.equals(restaurant.getActive())) {
+                inactive.add(id);
+            } else {
+                found.add(toRestaurantDetailedResponse(restaurant));
+            }
+        }
+
+        Map<Long, List<TimingResponse>> timings = null;
+        if (includeTimings && !found.isEmpty()) {
+            timings = new LinkedHashMap<>();
+            for (RestaurantResponse restaurant : found) {
+                timings.put(restaurant.getId(), new ArrayList<>());
+            }
+            Map<Long, List<TimingResponse>> byRestaurant = timings;
+            timingRepository.findByRestaurantIdIn(byRestaurant.keySet())
+                    .stream()
+                    .sorted(Comparator.comparing(RestaurantTiming::getDayOfWeek))
+                    .forEach(timing -> byRestaurant.get(timing.getRestaurant().getId())
+                            .add(RestaurantTimingMapper.toResponse(timing)));
+        }
+
+        return RestaurantBatchResponse.builder()
+                .restaurants(found)
+                .timings(timings)
+                .missingIds(missing)
+                .inactiveIds(inactive)
+                .build();
+    }
+
+    @Override
+    public MenuItemBatchResponse getMenuItemsByIds(List<Long> menuItemIds) {
+        List<Long> ids = batchIds(menuItemIds);
+
+        Map<Long, MenuItem> items = menuItemRepository.findWithRestaurantByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        List<MenuItemResponse> found = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        List<Long> inactive = new ArrayList<>();
+        for (Long id : ids) {
+            MenuItem item = items.get(id);
+            if (item == null) {
+                missing.add(id);
+            } else if (!Boolean.TRUE.equals(item.getAvailable())
+                    || !Boolean.TRUE.equals(item.getRestaurant().getActive())) {
+                inactive.add(id);
+            } else {
+                found.add(MenuItemMapper.toResponse(item));
+            }
+        }
+
+        return MenuItemBatchResponse.builder()
+                .menuItems(found)
+                .missingIds(missing)
+                .inactiveIds(inactive)
+                .build();
+    }
+
+    /**
+     * Distinct requested ids in request order, within the batch limit.
+     */
+    private static List<Long> batchIds(List<Long> ids) {
+        List<Long> distinct = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinct.isEmpty()) {
+            throw new BadRequestException("ids must not be empty");
+        }
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("At most " + MAX_BATCH_IDS + " ids can be requested at once");
+        }
+        return distinct;
+    }
+
+    @Override
+    public List<MenuItemResponse> listMenu(Long restaurantId) {
+        return menuItemRepository.findByRestaurantIdAndAvailableTrue(restaurantId).stream()
+                .map(MenuItemMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<TimingResponse> getRestaurantTimings(Long restaurantId) {
+        restaurantRepository.findByIdAndActiveTrue(restaurantId)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
+        return timingRepository.findByRestaurantId(restaurantId).stream()
+                .map(RestaurantTimingMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public SerializedResponse getSerializedRestaurant(Long restaurantId) {
+        return restaurantResponseCache.details(restaurantId, () -> getRestaurantById(restaurantId));
+    }
+
+    @Override
+    public SerializedResponse getSerializedMenu(Long restaurantId) {
+        return restaurantResponseCache.menu(restaurantId, () -> listMenu(restaurantId));
+    }
+
+    @Override
+    public SerializedResponse getSerializedTimings(Long restaurantId) {
+        return restaurantResponseCache.timings(restaurantId, () -> getRestaurantTimings(restaurantId));
+    }
+
+    @Override
+    public String getRestaurantVersionTag(Long restaurantId) {
+        // Details also show today's hours and whether the restaurant is open right now;
+        // a timing change already bumps this restaurant's version
+        LocalDateTime now = LocalDateTime.now();
+        return restaurantVersions.tag(restaurantId)
+                + "." + now.getDayOfWeek().getValue()
+                + (openingHoursIndex.isOpen(restaurantId, now) ? "o" : "c");
+    }
+
+    @Override
+    public String getMenuVersionTag(Long restaurantId) {
+        return restaurantVersions.tag(restaurantId);
+    }
+
+    @Override
+    public String getTimingsVersionTag(Long restaurantId) {
+        return restaurantVersions.tag(restaurantId);
+    }
+
+    private RestaurantResponse toRestaurantDetailedResponse(
+            Restaurant restaurant) {
+
+        LocalDateTime now = LocalDateTime.now();
+        var todaysHours = openingHoursIndex.hoursOn(restaurant.getId(), now.getDayOfWeek()).orElse(null);
+        // Without hours for today it may still be open in yesterday's overnight window
+        boolean openNow = openingHoursIndex.isOpen(restaurant.getId(), now);
+        return RestaurantMapper.toResponse(restaurant, todaysHours, openNow);
+    }
+}
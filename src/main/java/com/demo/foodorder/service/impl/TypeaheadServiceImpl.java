@@ -0,0 +1,29 @@
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.dto.response.SuggestionResponse;
+import com.demo.foodorder.index.TypeaheadIndex;
+import com.demo.foodorder.mapper.SuggestionMapper;
+import com.demo.foodorder.service.TypeaheadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TypeaheadServiceImpl implements TypeaheadService {
+
+    private final TypeaheadIndex typeaheadIndex;
+
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) return List.of();
+        if (limit < 1) limit = 5;
+        if (limit > 10) limit = 10;
+
+        return typeaheadIndex.suggest(prefix, limit)
+                .stream()
+                .map(SuggestionMapper::toResponse)
+                .toList();
+    }
+}
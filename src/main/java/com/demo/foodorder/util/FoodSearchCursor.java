@@ -0,0 +1,35 @@
+package com.demo.foodorder.util;
+
+import com.demo.foodorder.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for food search. Encodes the sort key (price, id)
+ * of the last item on a page; the next page starts strictly after it.
+ */
+public record FoodSearchCursor(BigDecimal price, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = price.toPlainString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FoodSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new FoodSearchCursor(
+                    new BigDecimal(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.demo.foodorder.util;
+
+/**
+ * Great-circle distances on a spherical earth.
+ */
+public class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    /** Kilometres per degree of latitude (and of longitude at the equator). */
+    public static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+
+    /**
+     * Distance rounded to whole metres, as reported in responses.
+     */
+    public static double roundKm(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+
+    /**
+     * Haversine formula (km)
+     */
+    public static double distanceKm(
+            double lat1, double lon1,
+            double lat2, double lon2) {
+
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
@@ -0,0 +1,27 @@
+package com.demo.foodorder.util;
+
+import com.demo.foodorder.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for restaurant browsing. Encodes the id of the last
+ * restaurant on a page; the next page starts strictly after it.
+ */
+public record RestaurantCursor(Long id) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RestaurantCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return new RestaurantCursor(Long.parseLong(raw));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
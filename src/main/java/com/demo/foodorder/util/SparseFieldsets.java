@@ -0,0 +1,34 @@
+package com.demo.foodorder.util;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code fields=} query parameter: a comma-separated list of the properties
+ * a list endpoint should return for each item. Response DTOs that support it are
+ * annotated with {@code @JsonFilter(SparseFieldsets.FILTER)}.
+ */
+public class SparseFieldsets {
+
+    public static final String PARAMETER = "fields";
+
+    public static final String FILTER = "sparseFieldset";
+
+    /**
+     * The requested property names, or null when every property is wanted. A list
+     * with no names in it, such as {@code fields=,}, also means every property.
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) return null;
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return names.isEmpty() ? null : names;
+    }
+
+    public static boolean includes(Set<String> fields, String property) {
+        return fields == null || fields.contains(property);
+    }
+}
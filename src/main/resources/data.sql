@@ -4,5 +4,8 @@
 INSERT INTO users (username, password, email, phone, role, active, created_at) VALUES
 ('admin', '$2a$12$LcxgwY0svZfj0a030pZiE.l3aM9gRuSYTmBiP0Z6ZIpakF3EGYHEi', 'admin@foodorder.com', '9999999999', 'ADMIN', true, CURRENT_TIMESTAMP);
 
+-- CATALOG CHANGE SEQUENCE (advanced as catalog changes commit)
+INSERT INTO catalog_sequence (id, last_sequence) VALUES (1, 0);
+
 -- TEST CREDENTIALS:
 -- Admin: username=admin, password=admin123
@@ -0,0 +1,103 @@
+package com.demo.foodorder.cache;
+
+import com.demo.foodorder.dto.request.FoodSearchRequest;
+import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.enums.SearchTotals;
+import com.demo.foodorder.event.MenuItemIndexChangedEvent;
+import com.demo.foodorder.index.MenuItemDocument;
+import com.demo.foodorder.index.MenuItemSearchIndex;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantGeoIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class FoodSearchResultCacheTest {
+
+    private final FoodSearchResultCache cache = new FoodSearchResultCache(
+            mock(OpeningHoursIndex.class), mock(MenuItemSearchIndex.class), mock(RestaurantGeoIndex.class), 100);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void changeInAnotherCategoryDropsOnlyFacetedEntries() {
+        FoodSearchRequest request = request(FoodCategory.DESSERT, null);
+        get(request, true);
+        get(request, false);
+        assertEquals(2, loads.get());
+
+        changed(doc(FoodCategory.SNACK, CuisineType.INDIAN, false));
+
+        get(request, true);
+        get(request, false);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void changeInAnotherCuisineDropsFacetedEntries() {
+        FoodSearchRequest request = request(null, CuisineType.ITALIAN);
+        get(request, true);
+
+        changed(doc(FoodCategory.DESSERT, CuisineType.INDIAN, false));
+
+        get(request, true);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void facetedEntriesKeepTheirOtherFilters() {
+        FoodSearchRequest request = request(FoodCategory.DESSERT, null);
+        request.setVegetarian(true);
+        get(request, true);
+
+        changed(doc(FoodCategory.SNACK, CuisineType.INDIAN, false));
+
+        get(request, true);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void pendingApproximateTotalIsNotCached() {
+        FoodSearchRequest request = request(FoodCategory.DESSERT, null);
+        for (Long total : new Long[]{null, 12L, 99L}) {
+            cache.get(request, SearchTotals.APPROXIMATE, false, 0, 10, () -> {
+                loads.incrementAndGet();
+                return PagedFoodSearchResponse.builder().content(List.of()).totalElements(total).build();
+            });
+        }
+
+        assertEquals(2, loads.get());
+    }
+
+    private void get(FoodSearchRequest request, boolean includeFacets) {
+        cache.get(request, SearchTotals.EXACT, includeFacets, 0, 10, () -> {
+            loads.incrementAndGet();
+            return PagedFoodSearchResponse.builder().content(List.of()).build();
+        });
+    }
+
+    private void changed(MenuItemDocument doc) {
+        cache.onIndexChanged(new MenuItemIndexChangedEvent(List.of(doc), false));
+    }
+
+    private static FoodSearchRequest request(FoodCategory category, CuisineType cuisine) {
+        FoodSearchRequest request = new FoodSearchRequest();
+        request.setFoodCategory(category);
+        request.setCuisineType(cuisine);
+        request.setSort(FoodSearchSort.PRICE_ASC);
+        return request;
+    }
+
+    private static MenuItemDocument doc(FoodCategory category, CuisineType cuisine, boolean vegetarian) {
+        return new MenuItemDocument(1L, 1L, "Spice Hub", "Samosa", null,
+                category, cuisine, BigDecimal.TEN, vegetarian, false, false);
+    }
+}
@@ -0,0 +1,170 @@
+package com.demo.foodorder.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Bm25IndexTest {
+
+    private static final String[] WORDS = {"chicken", "paneer", "tikka", "masala", "butter", "garlic", "naan", "rice"};
+
+    @Test
+    void tokenizeSplitsOnNonAlphanumerics() {
+        assertEquals(List.of("chicken", "65", "dry"), Bm25Index.tokenize("Chicken-65 (DRY)"));
+        assertEquals(List.of(), Bm25Index.tokenize(" -- "));
+        assertEquals(List.of(), Bm25Index.tokenize(null));
+    }
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        Bm25Index index = index(
+                doc("Garlic Naan", "Bread with butter"),
+                doc("Butter Chicken", "Creamy tomato gravy"),
+                doc("Dal Makhani", "Lentils"));
+
+        assertArrayEquals(new int[]{1, 0}, index.topK(List.of("butter"), all(3), 10));
+        assertEquals(bits(0, 1), index.matches(List.of("butter", "nothing")));
+    }
+
+    @Test
+    void topKSkipsIneligibleOrdinals() {
+        Bm25Index index = index(
+                doc("Butter Chicken", null),
+                doc("Chicken Tikka", null),
+                doc("Chicken Biryani", null));
+
+        assertArrayEquals(new int[]{0, 2}, index.topK(List.of("chicken"), bits(0, 2), 10));
+        assertArrayEquals(new int[0], index.topK(List.of("chicken"), new BitSet(), 10));
+    }
+
+    @Test
+    void thresholdStopMatchesFullRanking() {
+        Random random = new Random(3);
+        List<MenuItemDocument> docs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            docs.add(doc(words(random, 1 + random.nextInt(3)), words(random, random.nextInt(8))));
+        }
+        Bm25Index index = new Bm25Index();
+        index.build(docs);
+
+        BitSet eligible = new BitSet();
+        for (int i = 0; i < docs.size(); i += 1 + random.nextInt(3)) {
+            eligible.set(i);
+        }
+        for (List<String> terms : List.of(List.of("chicken"), List.of("tikka", "naan"), List.of("rice", "butter", "garlic"))) {
+            int[] full = index.topK(terms, eligible, docs.size());
+            for (int k : new int[]{1, 5, 20}) {
+                assertArrayEquals(Arrays.copyOf(full, k), index.topK(terms, eligible, k), terms + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void topKStopsBeforeReadingEveryPosting() {
+        List<MenuItemDocument> docs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            docs.add(i < 10
+                    ? doc("Chicken", null)
+                    : doc("Curry", "chicken with rice butter garlic naan and tikka masala"));
+        }
+        Bm25Index index = new Bm25Index();
+        index.build(docs);
+
+        // Every posting read is checked against the eligible set once
+        int[] reads = new int[1];
+        BitSet eligible = new BitSet() {
+            @Override
+            public boolean get(int bitIndex) {
+                reads[0]++;
+                return super.get(bitIndex);
+            }
+        };
+        eligible.set(0, docs.size());
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, index.topK(List.of("chicken"), eligible, 10));
+        assertTrue(reads[0] <= 11, "read " + reads[0] + " postings");
+    }
+
+    @Test
+    void singleTermStopsOnTiedImpacts() {
+        List<MenuItemDocument> docs = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            docs.add(doc("Chicken Curry", null));
+        }
+        Bm25Index index = new Bm25Index();
+        index.build(docs);
+
+        int[] reads = new int[1];
+        BitSet eligible = new BitSet() {
+            @Override
+            public boolean get(int bitIndex) {
+                reads[0]++;
+                return super.get(bitIndex);
+            }
+        };
+        eligible.set(0, docs.size());
+
+        // Every posting has the same impact; the lowest ordinals win the tie
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, index.topK(List.of("chicken"), eligible, 10));
+        assertTrue(reads[0] <= 10, "read " + reads[0] + " postings");
+    }
+
+    @Test
+    void removeAndAddAfterBuildKeepsPostingsSorted() {
+        List<MenuItemDocument> docs = List.of(
+                doc("Paneer Tikka", "Grilled paneer"),
+                doc("Chicken Tikka", "Grilled chicken"),
+                doc("Tikka Masala", "Tikka in masala gravy"),
+                doc("Paneer Butter Masala", null));
+        Bm25Index index = index(docs.toArray(MenuItemDocument[]::new));
+        int[] before = index.topK(List.of("tikka", "paneer"), all(4), 4);
+
+        index.remove(2);
+        assertEquals(bits(0, 1, 3), index.matches(List.of("tikka", "paneer")));
+
+        index.add(2, docs.get(2));
+        assertArrayEquals(before, index.topK(List.of("tikka", "paneer"), all(4), 4));
+    }
+
+    private static Bm25Index index(MenuItemDocument... docs) {
+        Bm25Index index = new Bm25Index();
+        index.build(List.of(docs));
+        return index;
+    }
+
+    private static MenuItemDocument doc(String name, String description) {
+        return new MenuItemDocument(1L, 1L, "Spice Hub", name, description,
+                null, null, BigDecimal.TEN, false, false, false);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    private static BitSet all(int size) {
+        BitSet bits = new BitSet();
+        bits.set(0, size);
+        return bits;
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
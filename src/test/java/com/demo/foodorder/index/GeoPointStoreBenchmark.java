@@ -0,0 +1,84 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.util.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radius scan over every restaurant: haversine on boxed entity coordinates versus
+ * the chord comparison over {@link GeoPointStore}'s primitive arrays.
+ * <p>
+ * Not part of the test phase; run {@link #main} from the IDE, or:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main GeoPointStoreBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoPointStoreBenchmark {
+
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LNG = 77.59;
+
+    @Param({"100000"})
+    private int restaurants;
+
+    @Param({"5"})
+    private double radiusKm;
+
+    private List<Restaurant> entities;
+    private GeoPointStore store;
+
+    @Setup
+    public void setUp() {
+        // Spread over roughly a 100 km square around the city center
+        Random random = new Random(42);
+        entities = new ArrayList<>(restaurants);
+        store = new GeoPointStore();
+        for (long id = 1; id <= restaurants; id++) {
+            double lat = CENTER_LAT + random.nextDouble() - 0.5;
+            double lng = CENTER_LNG + random.nextDouble() - 0.5;
+            entities.add(Restaurant.builder().id(id).latitude(lat).longitude(lng).build());
+            store.put(id, lat, lng);
+        }
+    }
+
+    @Benchmark
+    public List<RestaurantDistance> haversineOverEntities() {
+        List<RestaurantDistance> matches = new ArrayList<>();
+        for (Restaurant restaurant : entities) {
+            double distance = GeoUtils.distanceKm(
+                    CENTER_LAT, CENTER_LNG, restaurant.getLatitude(), restaurant.getLongitude());
+            if (distance <= radiusKm) {
+                matches.add(new RestaurantDistance(restaurant.getId(), distance));
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<RestaurantDistance> chordScanOverStore() {
+        List<RestaurantDistance> matches = new ArrayList<>();
+        store.within(GeoPointStore.UnitVector.of(CENTER_LAT, CENTER_LNG), radiusKm, matches);
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GeoPointStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.MenuItemChangedEvent;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.MenuItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MenuItemSearchIndexTest {
+
+    private final MenuItemRepository repository = mock(MenuItemRepository.class);
+    private final MenuItemSearchIndex index = new MenuItemSearchIndex(repository, mock(ApplicationEventPublisher.class));
+
+    @Test
+    void olderSnapshotIsNotAppliedOverANewerOne() throws Exception {
+        index.rebuild();
+        MenuItemChangedEvent event = new MenuItemChangedEvent(1L, 10L, ChangeType.UPDATED);
+
+        AtomicInteger reads = new AtomicInteger();
+        AtomicReference<CompletableFuture<Void>> second = new AtomicReference<>();
+        when(repository.findSearchableById(10L)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() > 1) {
+                return Optional.of(item("Paneer Tikka"));
+            }
+            // A second commit on the same item runs its listener while the first one reads
+            second.set(CompletableFuture.runAsync(() -> index.onMenuItemChanged(event)));
+            Thread.sleep(200);
+            return Optional.of(item("Paneer"));
+        });
+
+        index.onMenuItemChanged(event);
+        second.get().get(5, TimeUnit.SECONDS);
+
+        assertEquals("Paneer Tikka", index.findById(10L).orElseThrow().name());
+    }
+
+    @Test
+    void readsDoNotWaitForTheDatabaseDuringAChange() throws Exception {
+        when(repository.findAllSearchable()).thenReturn(List.of(item(10L, "Paneer")));
+        index.rebuild();
+
+        CompletableFuture<Void> reading = new CompletableFuture<>();
+        when(repository.findSearchableById(10L)).thenAnswer(invocation -> {
+            reading.complete(null);
+            Thread.sleep(500);
+            return Optional.of(item(10L, "Paneer Tikka"));
+        });
+        CompletableFuture<Void> change = CompletableFuture.runAsync(() ->
+                index.onMenuItemChanged(new MenuItemChangedEvent(1L, 10L, ChangeType.UPDATED)));
+        reading.get(5, TimeUnit.SECONDS);
+
+        // Served from the old version while the listener is still reading
+        assertEquals("Paneer", index.findById(10L).orElseThrow().name());
+        change.get(5, TimeUnit.SECONDS);
+        assertEquals("Paneer Tikka", index.findById(10L).orElseThrow().name());
+    }
+
+    @Test
+    void restaurantChangeReplacesItemsAndDropsMissingOnes() {
+        when(repository.findAllSearchable()).thenReturn(List.of(item(10L, "Paneer"), item(11L, "Dal")));
+        index.rebuild();
+        when(repository.findSearchableByRestaurantId(1L)).thenReturn(List.of(item(10L, "Paneer Tikka")));
+
+        index.onRestaurantChanged(new RestaurantChangedEvent(1L, ChangeType.UPDATED));
+
+        assertEquals(List.of("Paneer Tikka"), index.documents().stream().map(MenuItemDocument::name).toList());
+        assertTrue(index.findById(11L).isEmpty());
+    }
+
+    @Test
+    void compactionKeepsEveryLiveItemSearchable() {
+        when(repository.findAllSearchable()).thenReturn(List.of(item(10L, "Paneer"), item(11L, "Dal")));
+        index.rebuild();
+        when(repository.findSearchableById(11L)).thenReturn(Optional.empty());
+        index.onMenuItemChanged(new MenuItemChangedEvent(1L, 11L, ChangeType.DELETED));
+
+        index.compact();
+
+        MenuItemHits hits = index.search(query("paneer"), null, 0, 10, true, false).orElseThrow();
+        assertEquals(List.of(10L), hits.documents().stream().map(MenuItemDocument::id).toList());
+        assertTrue(index.findById(11L).isEmpty());
+    }
+
+    private static MenuItemQuery query(String q) {
+        return new MenuItemQuery(q, null, null, null, null, null, null, null, null);
+    }
+
+    private static MenuItem item(String name) {
+        return item(10L, name);
+    }
+
+    private static MenuItem item(Long id, String name) {
+        Restaurant restaurant = Restaurant.builder().id(1L).name("Spice Route").active(true).build();
+        return MenuItem.builder()
+                .id(id)
+                .restaurant(restaurant)
+                .name(name)
+                .price(new BigDecimal("180.00"))
+                .available(true)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.demo.foodorder.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NGramIndex();
+        index.add(4, "Butter Chicken");
+        index.add(1, "Chicken Tikka");
+        index.add(7, "Paneer Tikka");
+        index.add(2, "Mango Lassi");
+    }
+
+    @Test
+    void candidatesContainEveryQueryTrigramInAscendingOrder() {
+        assertArrayEquals(new int[]{1, 4}, index.candidates("chicken"));
+        assertArrayEquals(new int[]{1, 7}, index.candidates("tikka"));
+        assertArrayEquals(new int[]{1, 7}, index.candidates("kka"));
+    }
+
+    @Test
+    void candidatesAreASupersetThatCallersVerify() {
+        // Holds every trigram of "anner" without containing it
+        index.add(9, "Annexe Liner");
+
+        assertArrayEquals(new int[]{9}, index.candidates("anner"));
+    }
+
+    @Test
+    void unknownTrigramHasNoCandidates() {
+        assertArrayEquals(new int[0], index.candidates("pizza"));
+    }
+
+    @Test
+    void textIsMatchedCaseInsensitively() {
+        index.add(3, "MASALA DOSA");
+
+        assertArrayEquals(new int[]{3}, index.candidates(NGramIndex.normalize("Masala")));
+    }
+
+    @Test
+    void removeDropsOnlyThatOrdinal() {
+        index.remove(1, "Chicken Tikka");
+
+        assertArrayEquals(new int[]{4}, index.candidates("chicken"));
+        assertArrayEquals(new int[]{7}, index.candidates("tikka"));
+
+        index.remove(2, "Mango Lassi");
+        assertArrayEquals(new int[0], index.candidates("lassi"));
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.clear();
+
+        assertArrayEquals(new int[0], index.candidates("chicken"));
+    }
+
+    @Test
+    void queriesShorterThanATrigramAreNotSearchable() {
+        assertFalse(NGramIndex.isSearchable("ch"));
+        assertTrue(NGramIndex.isSearchable("chi"));
+    }
+}
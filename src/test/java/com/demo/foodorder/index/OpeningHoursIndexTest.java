@@ -0,0 +1,130 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.entity.RestaurantTiming;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpeningHoursIndexTest {
+
+    // 2024-01-01 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime SUNDAY = MONDAY.plusDays(6);
+
+    private final List<RestaurantTiming> timings = new ArrayList<>();
+    private OpeningHoursIndex index;
+
+    @BeforeEach
+    void setUp() {
+        RestaurantTimingRepository repository = mock(RestaurantTimingRepository.class);
+        when(repository.findAll()).thenAnswer(invocation -> List.copyOf(timings));
+        when(repository.findByRestaurantId(anyLong())).thenAnswer(invocation -> timings.stream()
+                .filter(timing -> timing.getRestaurant().getId().equals(invocation.getArgument(0)))
+                .toList());
+        index = new OpeningHoursIndex(repository);
+    }
+
+    @Test
+    void sameDayHoursIncludeTheCloseMinute() {
+        timing(1L, DayOfWeek.MONDAY, "09:00", "17:00");
+
+        assertFalse(index.isOpen(1L, at(MONDAY, "08:59")));
+        assertTrue(index.isOpen(1L, at(MONDAY, "09:00")));
+        assertTrue(index.isOpen(1L, at(MONDAY, "17:00")));
+        assertFalse(index.isOpen(1L, at(MONDAY, "17:01")));
+        assertFalse(index.isOpen(1L, at(MONDAY.plusDays(1), "12:00")));
+    }
+
+    @Test
+    void overnightHoursContinueIntoTheNextDay() {
+        timing(1L, DayOfWeek.FRIDAY, "18:00", "02:00");
+        LocalDateTime friday = MONDAY.plusDays(4);
+
+        assertTrue(index.isOpen(1L, at(friday, "23:59")));
+        assertTrue(index.isOpen(1L, at(friday.plusDays(1), "00:00")));
+        assertTrue(index.isOpen(1L, at(friday.plusDays(1), "02:00")));
+        assertFalse(index.isOpen(1L, at(friday.plusDays(1), "02:01")));
+        assertFalse(index.isOpen(1L, at(friday, "01:00")));
+    }
+
+    @Test
+    void sundayOvernightWrapsToMonday() {
+        timing(1L, DayOfWeek.SUNDAY, "20:00", "03:00");
+
+        assertTrue(index.isOpen(1L, at(SUNDAY, "23:30")));
+        assertTrue(index.isOpen(1L, at(MONDAY, "03:00")));
+        assertFalse(index.isOpen(1L, at(MONDAY, "03:01")));
+        assertTrue(index.isOpen(1L, at(SUNDAY.plusDays(1), "01:00")));
+    }
+
+    @Test
+    void openRestaurantIdsReflectsTheMinute() {
+        timing(1L, DayOfWeek.MONDAY, "09:00", "17:00");
+        timing(2L, DayOfWeek.MONDAY, "12:00", "23:00");
+
+        assertEquals(Set.of(1L), index.openRestaurantIds(at(MONDAY, "10:15")));
+        assertEquals(Set.of(1L, 2L), index.openRestaurantIds(at(MONDAY, "12:00")));
+        assertEquals(Set.of(2L), index.openRestaurantIds(at(MONDAY, "22:00")));
+    }
+
+    @Test
+    void timingChangeReloadsOnlyThatRestaurant() {
+        timing(1L, DayOfWeek.MONDAY, "09:00", "17:00");
+        timing(2L, DayOfWeek.MONDAY, "09:00", "17:00");
+        assertEquals(Set.of(1L, 2L), index.openRestaurantIds(at(MONDAY, "10:00")));
+        long version = index.version();
+
+        timings.removeIf(timing -> timing.getRestaurant().getId() == 1L);
+        timing(1L, DayOfWeek.MONDAY, "11:00", "12:00");
+        index.onTimingsChanged(new RestaurantTimingsChangedEvent(1L));
+
+        assertTrue(index.version() > version);
+        assertEquals(Set.of(2L), index.openRestaurantIds(at(MONDAY, "10:00")));
+        assertEquals(Set.of(1L, 2L), index.openRestaurantIds(at(MONDAY, "11:30")));
+        assertEquals(LocalTime.of(11, 0), index.hoursOn(1L, DayOfWeek.MONDAY).orElseThrow().openTime());
+    }
+
+    @Test
+    void clearedTimingsAndDeletedRestaurantsAreNeverOpen() {
+        timing(1L, DayOfWeek.MONDAY, "09:00", "17:00");
+        timing(2L, DayOfWeek.MONDAY, "09:00", "17:00");
+        index.version();
+
+        timings.removeIf(timing -> timing.getRestaurant().getId() == 1L);
+        index.onTimingsChanged(new RestaurantTimingsChangedEvent(1L));
+        index.onRestaurantChanged(new RestaurantChangedEvent(2L, ChangeType.DELETED));
+
+        assertFalse(index.isOpen(1L, at(MONDAY, "10:00")));
+        assertFalse(index.isOpen(2L, at(MONDAY, "10:00")));
+        assertTrue(index.hoursOn(1L, DayOfWeek.MONDAY).isEmpty());
+    }
+
+    private void timing(Long restaurantId, DayOfWeek day, String open, String close) {
+        timings.add(RestaurantTiming.builder()
+                .restaurant(Restaurant.builder().id(restaurantId).build())
+                .dayOfWeek(day)
+                .openTime(LocalTime.parse(open))
+                .closeTime(LocalTime.parse(close))
+                .build());
+    }
+
+    private static LocalDateTime at(LocalDateTime day, String time) {
+        return day.toLocalDate().atTime(LocalTime.parse(time));
+    }
+}
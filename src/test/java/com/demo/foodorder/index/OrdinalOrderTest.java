@@ -0,0 +1,88 @@
+package com.demo.foodorder.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class OrdinalOrderTest {
+
+    @Test
+    void pageFollowsKeyThenOrdinal() {
+        OrdinalOrder order = new OrdinalOrder();
+        order.build(new int[]{0, 1, 2, 3, 4}, new long[]{30, 10, 20, 10, -5});
+
+        assertArrayEquals(new int[]{4, 1, 3, 2, 0}, order.page(all(5), 0, 10));
+        assertArrayEquals(new int[]{3, 2}, order.page(all(5), 2, 2));
+    }
+
+    @Test
+    void pageSkipsNonCandidates() {
+        OrdinalOrder order = new OrdinalOrder();
+        order.build(new int[]{0, 1, 2, 3, 4}, new long[]{30, 10, 20, 10, -5});
+
+        assertArrayEquals(new int[]{3, 0}, order.page(bits(0, 3), 0, 10));
+        assertArrayEquals(new int[]{0}, order.page(bits(0, 3), 1, 10));
+        assertArrayEquals(new int[0], order.page(new BitSet(), 0, 10));
+    }
+
+    @Test
+    void removeDropsOnlyTheGivenOrdinalAmongEqualKeys() {
+        OrdinalOrder order = new OrdinalOrder();
+        order.build(new int[]{0, 1, 2}, new long[]{7, 7, 7});
+
+        order.remove(1, 7);
+        order.remove(2, 8);
+
+        assertArrayEquals(new int[]{0, 2}, order.page(all(3), 0, 10));
+    }
+
+    @Test
+    void buildMatchesAddingOneAtATime() {
+        Random random = new Random(5);
+        int n = 1_000;
+        int[] ordinals = new int[n];
+        long[] keys = new long[n];
+        OrdinalOrder added = new OrdinalOrder();
+        for (int i = 0; i < n; i++) {
+            // Build input need not be in ordinal order
+            ordinals[i] = n - 1 - i;
+            keys[i] = random.nextInt(50) - 25;
+            added.add(ordinals[i], keys[i]);
+        }
+
+        OrdinalOrder built = new OrdinalOrder();
+        built.build(ordinals, keys);
+
+        assertArrayEquals(added.page(all(n), 0, n), built.page(all(n), 0, n));
+    }
+
+    @Test
+    void acceptsChangesAfterBuild() {
+        OrdinalOrder order = new OrdinalOrder();
+        order.build(new int[0], new long[0]);
+
+        for (int i = 0; i < 40; i++) {
+            order.add(i, -i);
+        }
+        order.remove(39, -39);
+
+        assertArrayEquals(new int[]{38, 37, 36}, order.page(all(40), 0, 3));
+    }
+
+    private static BitSet all(int size) {
+        BitSet bits = new BitSet();
+        bits.set(0, size);
+        return bits;
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,105 @@
+package com.demo.foodorder.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PriceIndexTest {
+
+    @Test
+    void rangeIncludesBothBounds() {
+        PriceIndex index = index("12.50", "9.00", "8.00", "3.50", "9.00");
+
+        assertEquals(bits(1, 2, 4), index.range(price("8.00"), price("9.00")));
+        assertEquals(bits(0), index.range(price("12.50"), price("12.50")));
+    }
+
+    @Test
+    void nullBoundIsOpen() {
+        PriceIndex index = index("12.50", "9.00", "8.00", "3.50");
+
+        assertEquals(bits(2, 3), index.range(null, price("8.00")));
+        assertEquals(bits(0, 1), index.range(price("9.00"), null));
+        assertEquals(bits(0, 1, 2, 3), index.range(null, null));
+    }
+
+    @Test
+    void subCentBoundsRoundInwards() {
+        PriceIndex index = index("8.00", "8.01", "8.99", "9.00");
+
+        // 8.001 excludes 8.00 and 8.999 excludes 9.00, as a BigDecimal comparison would
+        assertEquals(bits(1, 2), index.range(price("8.001"), price("8.999")));
+    }
+
+    @Test
+    void removeDropsOnlyTheGivenOrdinalAmongEqualPrices() {
+        PriceIndex index = index("9.00", "9.00", "9.00");
+
+        index.remove(1, price("9.00"));
+
+        assertEquals(bits(0, 2), index.range(price("9.00"), price("9.00")));
+    }
+
+    @Test
+    void buildMatchesInsertingOneAtATime() {
+        Random random = new Random(7);
+        int n = 1_000;
+        int[] ordinals = new int[n];
+        BigDecimal[] prices = new BigDecimal[n];
+        PriceIndex inserted = new PriceIndex();
+        for (int i = 0; i < n; i++) {
+            ordinals[i] = i;
+            prices[i] = BigDecimal.valueOf(random.nextInt(2_000), 2);
+            inserted.add(i, prices[i]);
+        }
+
+        PriceIndex built = new PriceIndex();
+        built.build(ordinals, prices);
+
+        for (int low = 0; low < 2_000; low += 137) {
+            BigDecimal min = BigDecimal.valueOf(low, 2);
+            BigDecimal max = BigDecimal.valueOf(low + 250, 2);
+            assertEquals(inserted.range(min, max), built.range(min, max));
+        }
+    }
+
+    @Test
+    void acceptsChangesAfterBuild() {
+        PriceIndex index = new PriceIndex();
+        index.build(new int[0], new BigDecimal[0]);
+
+        index.add(0, price("5.00"));
+        index.add(1, price("4.00"));
+        index.remove(0, price("5.00"));
+
+        assertEquals(bits(1), index.range(null, null));
+    }
+
+    private static PriceIndex index(String... prices) {
+        int[] ordinals = new int[prices.length];
+        BigDecimal[] values = new BigDecimal[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            ordinals[i] = i;
+            values[i] = price(prices[i]);
+        }
+        PriceIndex index = new PriceIndex();
+        index.build(ordinals, values);
+        return index;
+    }
+
+    private static BigDecimal price(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
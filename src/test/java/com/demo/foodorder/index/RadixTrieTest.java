@@ -0,0 +1,106 @@
+package com.demo.foodorder.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RadixTrieTest {
+
+    @Test
+    void topRanksAcrossTheSubtree() {
+        RadixTrie<String> trie = trie(3);
+        trie.add("chicken tikka", "chicken tikka");
+        trie.add("chicken", "chicken");
+        trie.add("chips", "chips");
+        trie.add("naan", "naan");
+
+        assertEquals(List.of("chicken", "chicken tikka", "chips"), trie.top("c"));
+        assertEquals(List.of("chicken", "chicken tikka"), trie.top("chic"));
+        assertEquals(List.of("chips"), trie.top("chip"));
+        assertEquals(List.of(), trie.top("chz"));
+    }
+
+    @Test
+    void removePrunesEmptiedLeaf() {
+        RadixTrie<String> trie = trie(10);
+        trie.add("chicken", "chicken");
+        trie.add("chips", "chips");
+
+        trie.remove("chips", "chips");
+
+        assertEquals(List.of(), trie.top("chip"));
+        assertEquals(List.of("chicken"), trie.top("ch"));
+        assertEquals(List.of("chicken"), trie.top("chi"));
+    }
+
+    @Test
+    void removeMergesPassThroughNodeAndSplitsAgainOnAdd() {
+        RadixTrie<String> trie = trie(10);
+        trie.add("chicken", "chicken");
+        trie.add("chips", "chips");
+        trie.add("chi", "chi");
+
+        // "chi" becomes a value-less node with two children; removing "chips" leaves it with one
+        trie.remove("chi", "chi");
+        trie.remove("chips", "chips");
+
+        assertEquals(List.of("chicken"), trie.top("c"));
+        assertEquals(List.of("chicken"), trie.top("chick"));
+
+        trie.add("chin", "chin");
+        assertEquals(List.of("chicken", "chin"), trie.top("chi"));
+        assertEquals(List.of("chin"), trie.top("chin"));
+        assertEquals(List.of("chicken"), trie.top("chic"));
+    }
+
+    @Test
+    void removeKeepsOtherValuesUnderTheSameKey() {
+        RadixTrie<String> trie = trie(10);
+        trie.add("dal", "dal a");
+        trie.add("dal", "dal b");
+
+        trie.remove("dal", "dal a");
+        trie.remove("dalx", "dal b");
+
+        assertEquals(List.of("dal b"), trie.top("d"));
+    }
+
+    @Test
+    void randomAddsAndRemovesMatchBruteForce() {
+        Random random = new Random(11);
+        RadixTrie<String> trie = trie(5);
+        Map<String, Set<String>> model = new HashMap<>();
+        String[] keys = {"a", "ab", "abc", "abd", "b", "ba", "bab", "abcd", "c"};
+
+        for (int step = 0; step < 2_000; step++) {
+            String key = keys[random.nextInt(keys.length)];
+            String value = key + "#" + random.nextInt(3);
+            if (random.nextBoolean()) {
+                if (model.computeIfAbsent(key, k -> new HashSet<>()).add(value)) {
+                    trie.add(key, value);
+                }
+            } else {
+                Set<String> values = model.get(key);
+                if (values != null && values.remove(value)) {
+                    trie.remove(key, value);
+                }
+            }
+
+            for (String prefix : List.of("a", "ab", "abc", "b", "ba", "c")) {
+                List<String> expected = model.entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith(prefix))
+                        .flatMap(entry -> entry.getValue().stream())
+                        .sorted()
+                        .limit(5)
+                        .toList();
+                assertEquals(expected, trie.top(prefix), "prefix " + prefix + " at step " + step);
+            }
+        }
+    }
+
+    private static RadixTrie<String> trie(int k) {
+        return new RadixTrie<>(k, Comparator.<String>naturalOrder());
+    }
+}
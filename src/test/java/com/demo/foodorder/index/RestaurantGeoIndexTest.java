@@ -0,0 +1,75 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantGeoIndexTest {
+
+    private final RestaurantRepository repository = mock(RestaurantRepository.class);
+    private final RestaurantGeoIndex index = new RestaurantGeoIndex(repository);
+
+    @Test
+    void changeCommittedDuringTheLoadIsKept() throws Exception {
+        Restaurant created = restaurant(2L, 12.9721, 77.5950);
+        when(repository.findByIdAndActiveTrue(2L)).thenReturn(Optional.of(created));
+
+        AtomicReference<CompletableFuture<Void>> change = new AtomicReference<>();
+        when(repository.findByActiveTrue()).thenAnswer(invocation -> {
+            // Restaurant 2 commits after the load read the locations
+            change.set(CompletableFuture.runAsync(() ->
+                    index.onRestaurantChanged(new RestaurantChangedEvent(2L, ChangeType.CREATED))));
+            Thread.sleep(200);
+            return List.of(restaurant(1L, 12.9716, 77.5946));
+        });
+
+        index.load();
+        change.get().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(1L, 2L), index.within(12.9716, 77.5946, 1).stream()
+                .map(RestaurantDistance::restaurantId)
+                .toList());
+    }
+
+    @Test
+    void olderSnapshotIsNotAppliedOverANewerOne() throws Exception {
+        index.load();
+        RestaurantChangedEvent event = new RestaurantChangedEvent(2L, ChangeType.UPDATED);
+
+        AtomicInteger reads = new AtomicInteger();
+        AtomicReference<CompletableFuture<Void>> second = new AtomicReference<>();
+        when(repository.findByIdAndActiveTrue(2L)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() > 1) {
+                return Optional.of(restaurant(2L, 12.9721, 77.5950));
+            }
+            // The restaurant moves again while the first listener reads
+            second.set(CompletableFuture.runAsync(() -> index.onRestaurantChanged(event)));
+            Thread.sleep(200);
+            return Optional.of(restaurant(2L, 13.0827, 80.2707));
+        });
+
+        index.onRestaurantChanged(event);
+        second.get().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(2L), index.within(12.9716, 77.5946, 1).stream()
+                .map(RestaurantDistance::restaurantId)
+                .toList());
+    }
+
+    private static Restaurant restaurant(Long id, double lat, double lng) {
+        return Restaurant.builder().id(id).latitude(lat).longitude(lng).active(true).build();
+    }
+}
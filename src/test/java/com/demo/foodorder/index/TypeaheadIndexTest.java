@@ -0,0 +1,96 @@
+package com.demo.foodorder.index;
+
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.event.RestaurantChangedEvent;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TypeaheadIndexTest {
+
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final MenuItemSearchIndex searchIndex =
+            new MenuItemSearchIndex(menuItemRepository, mock(ApplicationEventPublisher.class));
+    private final TypeaheadIndex index = new TypeaheadIndex(menuItemRepository, restaurantRepository, searchIndex);
+
+    @Test
+    void itemsComeFromTheSearchIndex() {
+        Restaurant restaurant = restaurant(1L, "Spice Route");
+        when(menuItemRepository.findAllSearchable()).thenReturn(List.of(item(10L, restaurant, "Paneer Tikka")));
+        searchIndex.rebuild();
+
+        index.rebuild();
+
+        assertEquals(List.of(10L), ids(index.suggest("tik", 10)));
+    }
+
+    @Test
+    void restaurantChangeDuringTheRebuildIsKept() throws Exception {
+        Restaurant opened = restaurant(2L, "Tandoor House");
+        when(restaurantRepository.findByIdAndActiveTrue(2L)).thenReturn(Optional.of(opened));
+
+        AtomicReference<CompletableFuture<Void>> change = new AtomicReference<>();
+        when(restaurantRepository.findByActiveTrue()).thenAnswer(invocation -> {
+            // Restaurant 2 commits after the rebuild read the restaurants
+            change.set(CompletableFuture.runAsync(() ->
+                    index.onRestaurantChanged(new RestaurantChangedEvent(2L, ChangeType.CREATED))));
+            Thread.sleep(200);
+            return List.of(restaurant(1L, "Tandoori Nights"));
+        });
+
+        index.rebuild();
+        change.get().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(2L, 1L), ids(index.suggest("tand", 10)));
+    }
+
+    @Test
+    void suggestionsAreServedWhileTheRebuildReads() throws Exception {
+        when(restaurantRepository.findByActiveTrue()).thenReturn(List.of(restaurant(1L, "Tandoori Nights")));
+        index.rebuild();
+
+        AtomicReference<List<Long>> during = new AtomicReference<>();
+        when(restaurantRepository.findByActiveTrue()).thenAnswer(invocation -> {
+            during.set(CompletableFuture.supplyAsync(() -> ids(index.suggest("tand", 10)))
+                    .get(5, TimeUnit.SECONDS));
+            return List.of(restaurant(1L, "Tandoori Nights"), restaurant(2L, "Tandoor House"));
+        });
+        index.rebuild();
+
+        assertEquals(List.of(1L), during.get());
+        assertEquals(List.of(2L, 1L), ids(index.suggest("tand", 10)));
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+
+    private static Restaurant restaurant(Long id, String name) {
+        return Restaurant.builder().id(id).name(name).active(true).build();
+    }
+
+    private static MenuItem item(Long id, Restaurant restaurant, String name) {
+        return MenuItem.builder()
+                .id(id)
+                .restaurant(restaurant)
+                .name(name)
+                .price(new BigDecimal("180.00"))
+                .available(true)
+                .build();
+    }
+}
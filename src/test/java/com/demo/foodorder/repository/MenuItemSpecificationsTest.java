@@ -0,0 +1,266 @@
+package com.demo.foodorder.repository;
+
+import com.demo.foodorder.dto.request.FoodSearchRequest;
+import com.demo.foodorder.dto.response.FoodSearchResponse;
+import com.demo.foodorder.entity.MenuItem;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.enums.CuisineType;
+import com.demo.foodorder.enums.FoodCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks the Specification based search against the catch-all JPQL it replaced, for
+ * every filter on its own and a few combinations: same rows, and only the supplied
+ * predicates in the generated SQL.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.demo.foodorder.repository.MenuItemSpecificationsTest$RecordingStatementInspector")
+class MenuItemSpecificationsTest {
+
+    private static final String LEGACY_SEARCH = """
+                SELECT new com.demo.foodorder.dto.response.FoodSearchResponse(
+                    r.id, r.name, m.id, m.name, m.description, m.price,
+                    m.foodCategory, m.cuisineType, m.vegetarian, m.vegan, m.glutenFree)
+                FROM MenuItem m
+                JOIN m.restaurant r
+                WHERE r.active = true
+                  AND m.available = true
+                  AND (:q IS NULL OR LOWER(m.name) LIKE LOWER(CONCAT('%', :q, '%')))
+                  AND (:category IS NULL OR m.foodCategory = :category)
+                  AND (:cuisine IS NULL OR m.cuisineType = :cuisine)
+                  AND (:vegetarian IS NULL OR m.vegetarian = :vegetarian)
+                  AND (:vegan IS NULL OR m.vegan = :vegan)
+                  AND (:glutenFree IS NULL OR m.glutenFree = :glutenFree)
+                  AND (:minPrice IS NULL OR m.price >= :minPrice)
+                  AND (:maxPrice IS NULL OR m.price <= :maxPrice)
+            """;
+
+    private static final String LEGACY_OPEN_NOW = LEGACY_SEARCH + "  AND r.id IN :openRestaurantIds";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private Restaurant spiceHub;
+
+    @BeforeEach
+    void setUp() {
+        spiceHub = restaurant("Spice Hub", true);
+        Restaurant pastaPlace = restaurant("Pasta Place", true);
+        Restaurant closedDown = restaurant("Closed Down", false);
+
+        item(spiceHub, "Butter Chicken", FoodCategory.MAIN_COURSE, CuisineType.INDIAN, "12.50", false, false, true, true);
+        item(spiceHub, "Paneer Tikka", FoodCategory.APPETIZER, CuisineType.INDIAN, "8.00", true, false, true, true);
+        item(spiceHub, "Mango Lassi", FoodCategory.BEVERAGE, CuisineType.INDIAN, "4.00", true, false, true, true);
+        item(spiceHub, "Dal Tadka", FoodCategory.MAIN_COURSE, CuisineType.INDIAN, "7.00", true, true, true, false);
+        item(pastaPlace, "Chicken Alfredo", FoodCategory.MAIN_COURSE, CuisineType.ITALIAN, "14.00", false, false, false, true);
+        item(pastaPlace, "Margherita Pizza", FoodCategory.MAIN_COURSE, CuisineType.ITALIAN, "11.00", true, false, false, true);
+        item(pastaPlace, "Vegan Sorbet", FoodCategory.DESSERT, CuisineType.ITALIAN, "5.00", true, true, true, true);
+        item(closedDown, "Chicken Soup", FoodCategory.APPETIZER, CuisineType.CHINESE, "6.00", false, false, true, true);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Stream<Case> cases() {
+        return Stream.of(
+                new Case("no filters", r -> { }, false),
+                new Case("q", r -> r.setQuery("chicken"), false),
+                new Case("q case-insensitive", r -> r.setQuery("TIKKA"), false),
+                new Case("category", r -> r.setFoodCategory(FoodCategory.MAIN_COURSE), false),
+                new Case("cuisine", r -> r.setCuisineType(CuisineType.ITALIAN), false),
+                new Case("vegetarian", r -> r.setVegetarian(true), false),
+                new Case("not vegetarian", r -> r.setVegetarian(false), false),
+                new Case("vegan", r -> r.setVegan(true), false),
+                new Case("gluten free", r -> r.setGlutenFree(true), false),
+                new Case("min price", r -> r.setMinPrice(new BigDecimal("8.00")), false),
+                new Case("max price", r -> r.setMaxPrice(new BigDecimal("8.00")), false),
+                new Case("price range", r -> {
+                    r.setMinPrice(new BigDecimal("5.00"));
+                    r.setMaxPrice(new BigDecimal("11.00"));
+                }, false),
+                new Case("veg main course under 12", r -> {
+                    r.setFoodCategory(FoodCategory.MAIN_COURSE);
+                    r.setVegetarian(true);
+                    r.setMaxPrice(new BigDecimal("12.00"));
+                }, false),
+                new Case("everything", r -> {
+                    r.setQuery("a");
+                    r.setFoodCategory(FoodCategory.DESSERT);
+                    r.setCuisineType(CuisineType.ITALIAN);
+                    r.setVegetarian(true);
+                    r.setVegan(true);
+                    r.setGlutenFree(true);
+                    r.setMinPrice(new BigDecimal("1.00"));
+                    r.setMaxPrice(new BigDecimal("20.00"));
+                }, false),
+                new Case("open now", r -> { }, true),
+                new Case("open now with q", r -> r.setQuery("chicken"), true),
+                new Case("open now with facets", r -> {
+                    r.setVegetarian(true);
+                    r.setCuisineType(CuisineType.INDIAN);
+                }, true)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("cases")
+    void matchesLegacyQuery(Case testCase) {
+        FoodSearchRequest request = new FoodSearchRequest();
+        testCase.filters().accept(request);
+        Collection<Long> openRestaurantIds = testCase.openNow() ? List.of(spiceHub.getId()) : null;
+
+        List<Long> expected = ids(legacySearch(request, openRestaurantIds));
+
+        RecordingStatementInspector.clear();
+        Specification<MenuItem> spec = MenuItemSpecifications.forSearch(request, openRestaurantIds);
+        List<FoodSearchResponse> actual = menuItemRepository.searchFoods(spec, PageRequest.of(0, 100)).getContent();
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(expected, ids(actual));
+        assertEquals(expected.size(), menuItemRepository.count(spec));
+
+        assertEquals(1, statements.size(), "projection should need a single statement");
+        String sql = statements.get(0).toLowerCase();
+        assertFalse(sql.contains(" is null"), "no catch-all null checks: " + sql);
+        assertEquals(1, occurrences(sql, " join "), "single restaurant join: " + sql);
+        assertEquals(request.getQuery() != null, sql.contains(" like "), sql);
+        assertEquals(request.getFoodCategory() != null, sql.contains("food_category="), sql);
+        assertEquals(request.getCuisineType() != null, sql.contains("cuisine_type="), sql);
+        assertEquals(request.getVegetarian() != null, sql.contains("vegetarian="), sql);
+        assertEquals(request.getVegan() != null, sql.contains("vegan="), sql);
+        assertEquals(request.getGlutenFree() != null, sql.contains("gluten_free="), sql);
+        assertEquals(request.getMinPrice() != null, sql.contains("price>="), sql);
+        assertEquals(request.getMaxPrice() != null, sql.contains("price<="), sql);
+        assertEquals(testCase.openNow(), sql.contains(" in ("), sql);
+    }
+
+    @Test
+    void keysetPagesFollowPriceThenId() {
+        FoodSearchRequest request = new FoodSearchRequest();
+        Sort priceThenId = Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id"));
+        List<FoodSearchResponse> all = menuItemRepository.searchFoods(
+                MenuItemSpecifications.forSearch(request, null), PageRequest.of(0, 100, priceThenId)).getContent();
+
+        List<FoodSearchResponse> paged = new ArrayList<>();
+        FoodSearchResponse last = null;
+        Slice<FoodSearchResponse> slice;
+        do {
+            Specification<MenuItem> spec = MenuItemSpecifications.forSearch(request, null)
+                    .and(MenuItemSpecifications.priceIdAfter(
+                            last == null ? null : last.getPrice(),
+                            last == null ? null : last.getMenuItemId()));
+            slice = menuItemRepository.searchFoods(spec, PageRequest.of(0, 2, priceThenId));
+            paged.addAll(slice.getContent());
+            last = paged.get(paged.size() - 1);
+        } while (slice.hasNext());
+
+        assertEquals(all.stream().map(FoodSearchResponse::getMenuItemId).toList(),
+                paged.stream().map(FoodSearchResponse::getMenuItemId).toList());
+    }
+
+    private List<FoodSearchResponse> legacySearch(FoodSearchRequest request, Collection<Long> openRestaurantIds) {
+        TypedQuery<FoodSearchResponse> query = entityManager.createQuery(
+                openRestaurantIds == null ? LEGACY_SEARCH : LEGACY_OPEN_NOW, FoodSearchResponse.class);
+        query.setParameter("q", request.getQuery());
+        query.setParameter("category", request.getFoodCategory());
+        query.setParameter("cuisine", request.getCuisineType());
+        query.setParameter("vegetarian", request.getVegetarian());
+        query.setParameter("vegan", request.getVegan());
+        query.setParameter("glutenFree", request.getGlutenFree());
+        query.setParameter("minPrice", request.getMinPrice());
+        query.setParameter("maxPrice", request.getMaxPrice());
+        if (openRestaurantIds != null) {
+            query.setParameter("openRestaurantIds", openRestaurantIds);
+        }
+        return query.getResultList();
+    }
+
+    private Restaurant restaurant(String name, boolean active) {
+        Restaurant restaurant = Restaurant.builder()
+                .name(name)
+                .active(active)
+                .build();
+        entityManager.persist(restaurant);
+        return restaurant;
+    }
+
+    private void item(Restaurant restaurant, String name, FoodCategory category, CuisineType cuisine,
+                      String price, boolean vegetarian, boolean vegan, boolean glutenFree, boolean available) {
+        entityManager.persist(MenuItem.builder()
+                .restaurant(restaurant)
+                .name(name)
+                .foodCategory(category)
+                .cuisineType(cuisine)
+                .price(new BigDecimal(price))
+                .vegetarian(vegetarian)
+                .vegan(vegan)
+                .glutenFree(glutenFree)
+                .available(available)
+                .build());
+    }
+
+    private static List<Long> ids(List<FoodSearchResponse> rows) {
+        return rows.stream().map(FoodSearchResponse::getMenuItemId).sorted().toList();
+    }
+
+    private static int occurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    record Case(String name, Consumer<FoodSearchRequest> filters, boolean openNow) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new ArrayList<>();
+
+        static synchronized void clear() {
+            STATEMENTS.clear();
+        }
+
+        static synchronized List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (RecordingStatementInspector.class) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.demo.foodorder.service;
+
+import com.demo.foodorder.entity.CatalogChange;
+import com.demo.foodorder.enums.CatalogEntityType;
+import com.demo.foodorder.event.RestaurantTimingsChangedEvent;
+import com.demo.foodorder.repository.CatalogChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Catalog change sequence numbers must follow commit order. Otherwise a client can
+ * sync past a number that is still uncommitted and never see that change.
+ */
+@SpringBootTest
+class CatalogChangeSequenceTest {
+
+    // Timings events for restaurants that do not exist only touch the log and caches
+    private static final long FIRST = 900_001L;
+    private static final long SECOND = 900_002L;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    private long before;
+
+    @AfterEach
+    void removeEntries() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                catalogChangeRepository.deleteAll(entriesSince(before)));
+    }
+
+    @Test
+    void sequenceFollowsCommitOrderWhenCommitsInterleave() throws Exception {
+        before = Optional.ofNullable(catalogChangeRepository.findLatestId()).orElse(0L);
+        CountDownLatch firstRecorded = new CountDownLatch(1);
+        AtomicBoolean secondCommitted = new AtomicBoolean();
+        AtomicBoolean secondCommittedFirst = new AtomicBoolean();
+
+        // The first change is logged, then stalls before committing while the second one runs
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> change(FIRST, () -> {
+            firstRecorded.countDown();
+            sleep(300);
+            secondCommittedFirst.set(secondCommitted.get());
+        }, () -> { }));
+        assertTrue(firstRecorded.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                change(SECOND, () -> { }, () -> secondCommitted.set(true)));
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+
+        List<Long> sequenceOrder = entriesSince(before).stream()
+                .filter(change -> change.getEntityType() == CatalogEntityType.TIMINGS)
+                .map(CatalogChange::getRestaurantId)
+                .toList();
+        assertEquals(List.of(FIRST, SECOND), sequenceOrder);
+        assertFalse(secondCommittedFirst.get(), "a later sequence number committed while an earlier one was open");
+        assertTrue(catalogService.changesSince(before).getTimings().keySet().containsAll(sequenceOrder));
+    }
+
+    /**
+     * Publishes a timings change in its own transaction, running {@code beforeCommit}
+     * after the catalog entry is written and {@code afterCommit} once committed.
+     */
+    private void change(long restaurantId, Runnable beforeCommit, Runnable afterCommit) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new RestaurantTimingsChangedEvent(restaurantId));
+            // Registered after the catalog listener at the same order, so it runs after it
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    beforeCommit.run();
+                }
+
+                @Override
+                public void afterCommit() {
+                    afterCommit.run();
+                }
+            });
+        });
+    }
+
+    private List<CatalogChange> entriesSince(long since) {
+        return catalogChangeRepository.findAfter(since, PageRequest.of(0, 100));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
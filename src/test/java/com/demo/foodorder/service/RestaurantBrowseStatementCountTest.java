@@ -0,0 +1,158 @@
+package com.demo.foodorder.service;
+
+import com.demo.foodorder.dto.request.CreateRestaurantRequest;
+import com.demo.foodorder.dto.request.TimingRequest;
+import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.entity.User;
+import com.demo.foodorder.enums.Role;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import com.demo.foodorder.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Restaurant listings must not issue a statement per restaurant (owner or timing
+ * lookups): the statement count has to stay the same as the result set grows.
+ * Every restaurant gets weekly timings so the timing lookups are exercised. The
+ * services commit for real, since the in-memory indexes follow commit events, so
+ * the created rows are removed again afterwards.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RestaurantBrowseStatementCountTest {
+
+    private static final double LAT = 12.97;
+    private static final double LNG = 77.59;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private RestaurantOwnerService restaurantOwnerService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantTimingRepository timingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int created;
+    private final List<Long> restaurantIds = new ArrayList<>();
+    private final List<Long> ownerIds = new ArrayList<>();
+
+    @AfterEach
+    void removeCreatedRestaurants() {
+        // Deactivate through the service first so the in-memory indexes drop them
+        restaurantIds.forEach(adminService::deleteRestaurant);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            restaurantIds.forEach(timingRepository::deleteByRestaurantId);
+            restaurantRepository.deleteAllById(restaurantIds);
+            userRepository.deleteAllById(ownerIds);
+        });
+    }
+
+    @Test
+    void browseStatementCountDoesNotGrowWithRestaurants() {
+        createRestaurants(3);
+        long allFew = statementsFor(() -> restaurantService.browseAllRestaurants(false, null, 100).getContent(), 3);
+        long nearbyFew = statementsFor(() -> restaurantService.browseRestaurants(LAT, LNG, 50, false), 3);
+        long openFew = statementsFor(() -> restaurantService.browseAllRestaurants(true, null, 100).getContent(), 3);
+        long unpagedFew = statementsFor(() -> restaurantService.browseAllRestaurants(false), 3);
+
+        createRestaurants(30);
+        long allMany = statementsFor(() -> restaurantService.browseAllRestaurants(false, null, 100).getContent(), 33);
+        long nearbyMany = statementsFor(() -> restaurantService.browseRestaurants(LAT, LNG, 50, false), 33);
+        long openMany = statementsFor(() -> restaurantService.browseAllRestaurants(true, null, 100).getContent(), 33);
+        long unpagedMany = statementsFor(() -> restaurantService.browseAllRestaurants(false), 33);
+
+        assertEquals(allFew, allMany, "browseAllRestaurants statements grew with restaurants");
+        assertEquals(nearbyFew, nearbyMany, "browseRestaurants statements grew with restaurants");
+        assertEquals(openFew, openMany, "open-now browse statements grew with restaurants");
+        assertEquals(unpagedFew, unpagedMany, "unpaged browse statements grew with restaurants");
+        assertEquals(1, allMany);
+        assertEquals(1, nearbyMany);
+    }
+
+    /**
+     * Statements issued by {@code browse}, run in a transaction like a request with an
+     * open session would be, so lazy owner loads would be counted rather than fail.
+     */
+    private long statementsFor(Supplier<List<RestaurantResponse>> browse, int expectedRestaurants) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        // Warm up the in-memory indexes, which load once on first use
+        transaction.execute(status -> browse.get());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<RestaurantResponse> restaurants = transaction.execute(status -> browse.get());
+
+        assertEquals(expectedRestaurants, restaurants.size());
+        assertTrue(restaurants.stream().allMatch(r -> r.getOwnerEmail() != null));
+        assertTrue(restaurants.stream().allMatch(r -> Boolean.TRUE.equals(r.getOpenNow())));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createRestaurants(int count) {
+        for (int i = 0; i < count; i++) {
+            int n = ++created;
+            User owner = userRepository.save(User.builder()
+                    .username("owner" + n)
+                    .password("secret")
+                    .email("owner" + n + "@example.com")
+                    .role(Role.RESTAURANT_OWNER)
+                    .active(true)
+                    .build());
+            ownerIds.add(owner.getId());
+
+            CreateRestaurantRequest request = new CreateRestaurantRequest();
+            request.setName("Restaurant " + n);
+            request.setLatitude(LAT + n * 0.001);
+            request.setLongitude(LNG + n * 0.001);
+            request.setRestaurantOwnerEmail("owner" + n + "@example.com");
+            Long restaurantId = adminService.createRestaurant(request).getId();
+            restaurantIds.add(restaurantId);
+
+            restaurantOwnerService.updateRestaurantTimings(restaurantId, allDay(), owner.getId());
+        }
+    }
+
+    private static List<TimingRequest> allDay() {
+        return Arrays.stream(DayOfWeek.values()).map(day -> {
+            TimingRequest timing = new TimingRequest();
+            timing.setDayOfWeek(day);
+            timing.setOpenTime("00:00");
+            timing.setCloseTime("23:59");
+            return timing;
+        }).toList();
+    }
+}
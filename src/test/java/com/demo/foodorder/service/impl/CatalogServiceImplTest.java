@@ -0,0 +1,59 @@
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.dto.response.CatalogChangesResponse;
+import com.demo.foodorder.entity.CatalogChange;
+import com.demo.foodorder.enums.CatalogEntityType;
+import com.demo.foodorder.enums.ChangeType;
+import com.demo.foodorder.repository.CatalogChangeRepository;
+import com.demo.foodorder.repository.CatalogSequenceRepository;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogServiceImplTest {
+
+    private final CatalogChangeRepository catalogChangeRepository = mock(CatalogChangeRepository.class);
+
+    private final CatalogServiceImpl service = new CatalogServiceImpl(
+            catalogChangeRepository, mock(CatalogSequenceRepository.class), mock(RestaurantRepository.class),
+            mock(MenuItemRepository.class), mock(RestaurantTimingRepository.class));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxBatch", 10);
+    }
+
+    @Test
+    void compactionBetweenTheCheckAndTheFetchRequiresAResync() {
+        when(catalogChangeRepository.findEarliestId()).thenReturn(5L);
+        when(catalogChangeRepository.findLatestId()).thenReturn(20L);
+        // Entries 6 to 14 were deleted after the retention check passed
+        when(catalogChangeRepository.findAfter(eq(5L), any())).thenReturn(List.of(change(15L)));
+
+        CatalogChangesResponse response = service.changesSince(5);
+
+        assertTrue(response.isResyncRequired());
+        assertEquals(20L, response.getVersion());
+    }
+
+    private static CatalogChange change(Long id) {
+        return CatalogChange.builder()
+                .id(id)
+                .entityType(CatalogEntityType.TIMINGS)
+                .restaurantId(1L)
+                .changeType(ChangeType.UPDATED)
+                .build();
+    }
+}
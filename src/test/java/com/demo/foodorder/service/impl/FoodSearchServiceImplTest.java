@@ -0,0 +1,109 @@
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.cache.FoodSearchResultCache;
+import com.demo.foodorder.cache.SearchCountEstimator;
+import com.demo.foodorder.dto.request.FoodSearchRequest;
+import com.demo.foodorder.dto.response.PagedFoodSearchResponse;
+import com.demo.foodorder.enums.FoodSearchSort;
+import com.demo.foodorder.enums.SearchTotals;
+import com.demo.foodorder.index.MenuItemDocument;
+import com.demo.foodorder.index.MenuItemHits;
+import com.demo.foodorder.index.MenuItemSearchIndex;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantGeoIndex;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class FoodSearchServiceImplTest {
+
+    private final MenuItemSearchIndex menuItemSearchIndex = mock(MenuItemSearchIndex.class);
+    private final SearchCountEstimator searchCountEstimator = mock(SearchCountEstimator.class);
+    private final FoodSearchResultCache foodSearchResultCache = mock(FoodSearchResultCache.class);
+
+    private final FoodSearchServiceImpl service = new FoodSearchServiceImpl(
+            mock(MenuItemRepository.class), menuItemSearchIndex, searchCountEstimator,
+            mock(OpeningHoursIndex.class), foodSearchResultCache, mock(RestaurantGeoIndex.class),
+            mock(PlatformTransactionManager.class), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() {
+        when(menuItemSearchIndex.isReady()).thenReturn(true);
+        when(menuItemSearchIndex.search(any(), any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenReturn(Optional.of(new MenuItemHits(Collections.nCopies(10, doc()), null, true, null)));
+        when(foodSearchResultCache.get(any(), any(), anyBoolean(), anyInt(), anyInt(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<PagedFoodSearchResponse>>getArgument(5).get());
+    }
+
+    @Test
+    void rankedSearchByDefaultDoesNotCountEveryMatch() {
+        PagedFoodSearchResponse response = service.searchFoods(ranked(), null, false, 0, 10);
+
+        // Without a total, top-k retrieval may stop once the page is settled
+        verify(menuItemSearchIndex).search(any(), eq(FoodSearchSort.RELEVANCE), eq(0), eq(10), eq(false), eq(false));
+        verify(foodSearchResultCache).get(any(), eq(SearchTotals.NONE), eq(false), eq(0), eq(10), any());
+        assertNull(response.getTotalElements());
+        assertEquals(10, response.getContent().size());
+    }
+
+    @Test
+    void approximateRankedTotalComesFromTheEstimator() {
+        when(searchCountEstimator.estimate(any(), any())).thenReturn(42L);
+
+        PagedFoodSearchResponse response = service.searchFoods(ranked(), SearchTotals.APPROXIMATE, false, 0, 10);
+
+        verify(menuItemSearchIndex).search(any(), eq(FoodSearchSort.RELEVANCE), eq(0), eq(10), eq(false), eq(false));
+        assertEquals(42L, response.getTotalElements());
+    }
+
+    @Test
+    void approximateRankedLastPageIsCountedFromThePage() {
+        when(menuItemSearchIndex.search(any(), any(), anyInt(), anyInt(), anyBoolean(), anyBoolean()))
+                .thenReturn(Optional.of(new MenuItemHits(Collections.nCopies(3, doc()), null, false, null)));
+
+        PagedFoodSearchResponse response = service.searchFoods(ranked(), SearchTotals.APPROXIMATE, false, 2, 10);
+
+        assertEquals(23L, response.getTotalElements());
+        verifyNoInteractions(searchCountEstimator);
+    }
+
+    @Test
+    void otherSortsCountExactlyByDefault() {
+        FoodSearchRequest request = ranked();
+        request.setSort(FoodSearchSort.PRICE_ASC);
+
+        service.searchFoods(request, null, false, 0, 10);
+
+        verify(menuItemSearchIndex).search(any(), eq(FoodSearchSort.PRICE_ASC), eq(0), eq(10), eq(true), eq(false));
+    }
+
+    private static FoodSearchRequest ranked() {
+        FoodSearchRequest request = new FoodSearchRequest();
+        request.setQuery("chicken");
+        request.setSort(FoodSearchSort.RELEVANCE);
+        return request;
+    }
+
+    private static MenuItemDocument doc() {
+        return new MenuItemDocument(1L, 1L, "Spice Hub", "Butter Chicken", null,
+                null, null, BigDecimal.TEN, false, false, false);
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.foodorder.service.impl;
+
+import com.demo.foodorder.cache.RestaurantResponseCache;
+import com.demo.foodorder.cache.RestaurantVersions;
+import com.demo.foodorder.dto.response.RestaurantResponse;
+import com.demo.foodorder.entity.Restaurant;
+import com.demo.foodorder.index.OpeningHoursIndex;
+import com.demo.foodorder.index.RestaurantGeoIndex;
+import com.demo.foodorder.repository.MenuItemRepository;
+import com.demo.foodorder.repository.RestaurantRepository;
+import com.demo.foodorder.repository.RestaurantTimingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantServiceImplTest {
+
+    private final RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+    private final OpeningHoursIndex openingHoursIndex = mock(OpeningHoursIndex.class);
+
+    private final RestaurantServiceImpl service = new RestaurantServiceImpl(
+            restaurantRepository, mock(RestaurantTimingRepository.class), mock(MenuItemRepository.class),
+            openingHoursIndex, mock(RestaurantGeoIndex.class), mock(RestaurantResponseCache.class),
+            mock(RestaurantVersions.class), new ObjectMapper());
+
+    @Test
+    void openInYesterdaysOvernightWindowWithoutHoursToday() {
+        when(restaurantRepository.findByIdAndActiveTrue(1L))
+                .thenReturn(Optional.of(Restaurant.builder().id(1L).name("Night Owl").active(true).build()));
+        // e.g. open Saturday 22:00-02:00, asked at Sunday 01:00 with no Sunday row
+        when(openingHoursIndex.hoursOn(eq(1L), any())).thenReturn(Optional.empty());
+        when(openingHoursIndex.isOpen(eq(1L), any())).thenReturn(true);
+
+        RestaurantResponse response = service.getRestaurantById(1L);
+
+        assertEquals(true, response.getOpenNow());
+        assertNull(response.getTimingResponse());
+    }
+}